@@ -0,0 +1,264 @@
+package com.example;
+
+import com.example.Main.Person;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * <p>A long running validation of a file of {@link PersonCsv} records that
+ * can be resumed after the process dies.</p>
+ * <p>The output is the failure bitmask of every record as a big-endian long,
+ * in input order, 0 meaning the record was a Right and
+ * CompiledRequirements.INVALID_RECORD that the line was not a valid record,
+ * which is counted rather than stopping the run. Every interval records the
+ * output is flushed to disk and a checkpoint holding the input offset, the
+ * output length and the counters so far is written to a temporary file and
+ * atomically moved over the previous checkpoint, so a checkpoint is either the
+ * old one or the new one, never a torn mix. The directory is synced after the
+ * move so the rename itself survives a crash.</p>
+ * <p>A checkpoint also records the path, size and modification time of the
+ * input, and is refused with an IOException if the input no longer matches,
+ * since its offsets would point into different records.</p>
+ * <p>run() resumes from the checkpoint when there is one: output written after
+ * the checkpoint is truncated and the input is read again from the
+ * checkpointed offset, so the final output is byte for byte what an
+ * uninterrupted run would have written. The checkpoint is deleted once the run
+ * completes.</p>
+ *
+ * @author Bob Carberry
+ */
+final class CheckpointedValidation {
+
+  private static final int BUFFER_BYTES = 1 << 16;
+
+  private final CompiledRequirements requirements;
+  private final Path input;
+  private final Path output;
+  private final Path checkpoint;
+  private final int interval;
+
+  /**
+   * @param requirements  the requirements to check every record against
+   * @param input         a file of PersonCsv lines
+   * @param output        the file the failure bitmasks are written to
+   * @param checkpoint    the checkpoint file
+   * @param interval      the number of records between checkpoints
+   */
+  CheckpointedValidation(CompiledRequirements requirements, Path input, Path output,
+                         Path checkpoint, int interval) {
+    if (interval < 1)
+      throw new IllegalArgumentException("interval must be positive: " + interval);
+    if (requirements.size() == CompiledRequirements.MAX_REQUIREMENTS)
+      throw new IllegalArgumentException("at most " + (CompiledRequirements.MAX_REQUIREMENTS - 1)
+          + " requirements, the last bit marks invalid records");
+    this.requirements = requirements;
+    this.input = input;
+    this.output = output;
+    this.checkpoint = checkpoint;
+    this.interval = interval;
+  }
+
+  /**
+   * <p>Validates the whole input, resuming from the checkpoint if there is one.</p>
+   * @return  the counters for the whole input
+   * @throws  IOException if a file cannot be read or written
+   */
+  Summary run() throws IOException {
+    return run(Long.MAX_VALUE);
+  }
+
+  /*
+   * Validates at most stopAfter records in this run. Stopping early leaves the
+   * output and checkpoint as they would be had the process been killed, which
+   * is how resuming is tested.
+   */
+  Summary run(long stopAfter) throws IOException {
+    Summary state = Files.exists(checkpoint) ? load() : new Summary(0, 0, 0, 0, new long[requirements.size()]);
+    try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+         FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      out.truncate(state.records * 8);
+      out.position(state.records * 8);
+      in.position(state.inputOffset);
+
+      ByteBuffer read = ByteBuffer.allocate(BUFFER_BYTES);
+      ByteBuffer write = ByteBuffer.allocate(BUFFER_BYTES);
+      LineReader lines = new LineReader();
+      long processed = 0;
+      boolean eof = false;
+      while (!eof) {
+        long readOffset = in.position();
+        // Buffer casts keep these calls linked to Java 8's Buffer methods
+        ((Buffer) read).clear();
+        eof = in.read(read) < 0;
+        ((Buffer) read).flip();
+        while (lines.next(read) || eof && lines.end()) {
+          Try<Person> person = PersonCsv.tryParse(lines.line());
+          long failures = person.isSuccess()
+              ? requirements.failures(person.get()) : CompiledRequirements.INVALID_RECORD;
+          state.record(failures);
+          if (!write.hasRemaining())
+            drain(write, out);
+          write.putLong(failures);
+          if (state.records % interval == 0) {
+            drain(write, out);
+            out.force(false);
+            // the reader stops just past the line, so this is where the next one starts
+            state.inputOffset = readOffset + read.position();
+            save(state);
+          }
+          if (++processed == stopAfter)
+            return state;
+        }
+      }
+      drain(write, out);
+      out.force(false);
+    }
+    Files.deleteIfExists(checkpoint);
+    return state;
+  }
+
+  private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+    ((Buffer) buffer).flip();
+    while (buffer.hasRemaining())
+      channel.write(buffer);
+    ((Buffer) buffer).clear();
+  }
+
+  private void save(Summary state) throws IOException {
+    Properties properties = new Properties();
+    properties.setProperty("input", inputIdentity());
+    properties.setProperty("inputOffset", Long.toString(state.inputOffset));
+    properties.setProperty("records", Long.toString(state.records));
+    properties.setProperty("failed", Long.toString(state.failed));
+    properties.setProperty("invalid", Long.toString(state.invalid));
+    for (int i = 0; i < state.failuresByRequirement.length; i++)
+      properties.setProperty("failures." + requirements.nameAt(i), Long.toString(state.failuresByRequirement[i]));
+    Path temporary = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+    try (FileOutputStream stream = new FileOutputStream(temporary.toFile())) {
+      properties.store(stream, "validation checkpoint");
+      stream.getFD().sync();
+    }
+    Files.move(temporary, checkpoint, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    syncDirectory(checkpoint.toAbsolutePath().getParent());
+  }
+
+  // the rename is only durable once the directory entry is on disk
+  private static void syncDirectory(Path directory) {
+    try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+      channel.force(true);
+    } catch (IOException e) {
+      // some platforms, Windows among them, cannot open or sync a directory
+    }
+  }
+
+  private String inputIdentity() throws IOException {
+    return input.toAbsolutePath() + " " + Files.size(input) + " " + Files.getLastModifiedTime(input).toMillis();
+  }
+
+  private Summary load() throws IOException {
+    Properties properties = new Properties();
+    try (InputStream stream = Files.newInputStream(checkpoint)) {
+      properties.load(stream);
+    }
+    if (!inputIdentity().equals(properties.getProperty("input")))
+      throw new IOException("checkpoint " + checkpoint + " was written for another input: "
+          + properties.getProperty("input"));
+    long[] failuresByRequirement = new long[requirements.size()];
+    for (int i = 0; i < failuresByRequirement.length; i++) {
+      String value = properties.getProperty("failures." + requirements.nameAt(i));
+      if (value == null)
+        throw new IOException("checkpoint was written for other requirements: " + checkpoint);
+      failuresByRequirement[i] = Long.parseLong(value);
+    }
+    return new Summary(
+        Long.parseLong(properties.getProperty("inputOffset")),
+        Long.parseLong(properties.getProperty("records")),
+        Long.parseLong(properties.getProperty("failed")),
+        Long.parseLong(properties.getProperty("invalid")),
+        failuresByRequirement);
+  }
+
+  /**
+   * <p>The progress and counters of a validation run.</p>
+   */
+  static final class Summary {
+    private long inputOffset;
+    private long records;
+    private long failed;
+    private long invalid;
+    private final long[] failuresByRequirement;
+
+    private Summary(long inputOffset, long records, long failed, long invalid, long[] failuresByRequirement) {
+      this.inputOffset = inputOffset;
+      this.records = records;
+      this.failed = failed;
+      this.invalid = invalid;
+      this.failuresByRequirement = failuresByRequirement;
+    }
+
+    private void record(long failures) {
+      records++;
+      if (failures == CompiledRequirements.INVALID_RECORD) {
+        invalid++;
+        return;
+      }
+      if (failures != 0L)
+        failed++;
+      for (long bits = failures; bits != 0L; bits &= bits - 1)
+        failuresByRequirement[Long.numberOfTrailingZeros(bits)]++;
+    }
+
+    /**
+     * @return  the number of records validated, invalid ones included
+     */
+    long getRecords() { return records; }
+
+    /**
+     * @return  the number of records that failed at least one requirement
+     */
+    long getFailed() { return failed; }
+
+    /**
+     * @return  the number of lines that were not valid records
+     */
+    long getInvalid() { return invalid; }
+
+    /**
+     * @param index  the position of a requirement
+     * @return       the number of records that failed the requirement at index
+     */
+    long getFailures(int index) { return failuresByRequirement[index]; }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      Summary that = (Summary) o;
+      return records == that.records && failed == that.failed && invalid == that.invalid
+          && Arrays.equals(failuresByRequirement, that.failuresByRequirement);
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(records) * 31 + Arrays.hashCode(failuresByRequirement);
+    }
+
+    @Override
+    public String toString() {
+      return "Summary(records=" + records + ", failed=" + failed + ", invalid=" + invalid
+          + ", failures=" + Arrays.toString(failuresByRequirement) + ')';
+    }
+  }
+
+}
@@ -0,0 +1,273 @@
+package com.example;
+
+import com.example.Main.Person;
+import com.example.Main.PersonFields;
+import com.example.Main.Requirement;
+import com.example.Main.RequirementNotMet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>A fixed set of up to 64 named requirements, each a {@link Rule} that a
+ * Person must satisfy, compiled into a single evaluator.</p>
+ * <p>failures(person) tests every rule and reports the unmet ones as a bitmask
+ * where bit i is set when requirement i was not met. It allocates nothing.
+ * The RequirementNotMet for each requirement is built once, when the set is
+ * built, and shared by every failing check. E.G.</p>
+ * <pre>
+ *   <blockqoute>
+ *     CompiledRequirements requirements = CompiledRequirements.builder()
+ *         .require("senior", Rule.age().atLeast(65), "age", "less than 65")
+ *         .require("female", Rule.gender().is(Gender.Female), "gender", "is male")
+ *         .build();
+ *     long failures = requirements.failures(person);
+ *     Either&lt;List&lt;RequirementNotMet&gt;, Person&gt; checked = requirements.check(person);
+ *   </blockqoute>
+ * </pre>
+ *
+ * @author Bob Carberry
+ */
+final class CompiledRequirements {
+
+  /** The largest number of requirements a set can hold. */
+  static final int MAX_REQUIREMENTS = Long.SIZE;
+
+  /**
+   * The bitmask the validators of text input record for a line that is not a
+   * valid record. It is the bit of a 64th requirement, so those validators
+   * accept at most MAX_REQUIREMENTS - 1 requirements.
+   */
+  static final long INVALID_RECORD = Long.MIN_VALUE;
+
+  /** Sets of at most this many requirements share one list per failure bitmask. */
+  private static final int SHARED_LISTS_LIMIT = 8;
+
+  private final String[] names;
+  private final Rule[] rules;
+  private final RequirementNotMet[] unmet;
+  // lazily built lists of unmet requirements indexed by failure bitmask
+  private final List<RequirementNotMet>[] sharedLists;
+
+  @SuppressWarnings("unchecked")
+  private CompiledRequirements(String[] names, Rule[] rules, RequirementNotMet[] unmet) {
+    this.names = names;
+    this.rules = rules;
+    this.unmet = unmet;
+    this.sharedLists = rules.length <= SHARED_LISTS_LIMIT ? new List[1 << rules.length] : null;
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * @return  the number of requirements in this set
+   */
+  int size() { return rules.length; }
+
+  /**
+   * @param index  the position of a requirement in this set
+   * @return       the name of the requirement at index
+   */
+  String nameAt(int index) { return names[index]; }
+
+  /**
+   * @param index  the position of a requirement in this set
+   * @return       the rule of the requirement at index
+   */
+  Rule ruleAt(int index) { return rules[index]; }
+
+  /**
+   * @param index  the position of a requirement in this set
+   * @return       the shared RequirementNotMet reported when the requirement at index fails
+   */
+  RequirementNotMet unmetAt(int index) { return unmet[index]; }
+
+  /**
+   * <p>Evaluates every requirement against person.</p>
+   * @param person  the person, or a flyweight over one, to check
+   * @return        a bitmask with bit i set if requirement i was not met,
+   *                0 if every requirement was met
+   */
+  long failures(PersonFields person) {
+    long mask = 0L;
+    for (int i = 0; i < rules.length; i++) {
+      if (!rules[i].test(person))
+        mask |= 1L << i;
+    }
+    return mask;
+  }
+
+  /**
+   * <p>Evaluates every requirement against a whole batch, one requirement and
+   * one column at a time.</p>
+   * @param columns  the batch to check
+   * @return         a failure bitmask per record, as failures(person) would
+   *                 have returned for each record in turn
+   */
+  long[] failures(PersonColumns columns) {
+    long[] masks = new long[columns.size()];
+    long[] passed = columns.newBitmap();
+    for (int i = 0; i < rules.length; i++) {
+      rules[i].evaluate(columns, passed);
+      long bit = 1L << i;
+      for (int w = 0; w < passed.length; w++) {
+        long failed = ~passed[w];
+        if (w == passed.length - 1 && (columns.size() & 63) != 0)
+          failed &= (1L << (columns.size() & 63)) - 1;
+        for (; failed != 0L; failed &= failed - 1)
+          masks[(w << 6) + Long.numberOfTrailingZeros(failed)] |= bit;
+      }
+    }
+    return masks;
+  }
+
+  /**
+   * <p>Evaluates every requirement against every record of an off-heap store
+   * through a single cursor, without materializing any Person.</p>
+   * @param store  the records to check
+   * @return       a failure bitmask per record, as failures(person) would
+   *               have returned for each record in turn
+   */
+  long[] failures(PersonStore store) {
+    long[] masks = new long[store.size()];
+    PersonStore.Cursor cursor = store.cursor();
+    for (int r = 0; r < masks.length; r++)
+      masks[r] = failures(cursor.moveTo(r));
+    return masks;
+  }
+
+  /**
+   * <p>Checks a whole batch column-wise and zips the outcome back into one
+   * Either per record, in record order.</p>
+   * @param columns  the batch to check
+   * @return         the same results as check(person) for each record in turn
+   */
+  EitherArray<List<RequirementNotMet>, Person> checkAll(PersonColumns columns) {
+    long[] masks = failures(columns);
+    EitherArray.Builder<List<RequirementNotMet>, Person> results = EitherArray.builder(masks.length);
+    for (int r = 0; r < masks.length; r++) {
+      if (masks[r] == 0L)
+        results.addRight(columns.rows[r]);
+      else
+        results.addLeft(unmet(masks[r]));
+    }
+    return results.build();
+  }
+
+  /**
+   * <p>Materializes a failure bitmask as the list of unmet requirements, in
+   * requirement order. For sets of up to eight requirements the list for each
+   * bitmask is built once and shared.</p>
+   * @param failures  a bitmask produced by failures
+   * @return          an immutable list of the unmet requirements
+   */
+  List<RequirementNotMet> unmet(long failures) {
+    if (sharedLists == null)
+      return newUnmet(failures);
+    int index = (int) failures;
+    List<RequirementNotMet> list = sharedLists[index];
+    if (list == null) {
+      // racing threads build equal lists, so last write wins harmlessly
+      list = newUnmet(failures);
+      sharedLists[index] = list;
+    }
+    return list;
+  }
+
+  private List<RequirementNotMet> newUnmet(long failures) {
+    if (failures == 0L)
+      return Collections.emptyList();
+    if (Long.bitCount(failures) == 1)
+      return Collections.singletonList(unmet[Long.numberOfTrailingZeros(failures)]);
+    List<RequirementNotMet> list = new ArrayList<RequirementNotMet>(Long.bitCount(failures));
+    for (long bits = failures; bits != 0L; bits &= bits - 1)
+      list.add(unmet[Long.numberOfTrailingZeros(bits)]);
+    return Collections.unmodifiableList(list);
+  }
+
+  /**
+   * <p>Checks person against every requirement, with the same result as
+   * Main.check over asRequirements().</p>
+   * @param person  the person to check
+   * @return        the person as a Right if every requirement was met,
+   *                otherwise the unmet requirements as a Left
+   */
+  Either<List<RequirementNotMet>, Person> check(Person person) {
+    return toEither(failures(person), person);
+  }
+
+  /**
+   * @param failures  a bitmask produced by failures(person)
+   * @param person    the person that was checked
+   * @return          the Either check(person) would have returned
+   */
+  Either<List<RequirementNotMet>, Person> toEither(long failures, Person person) {
+    if (failures == 0L)
+      return Either.right(person).value();
+    else
+      return Either.left(unmet(failures)).value();
+  }
+
+  /**
+   * <p>Exposes every requirement as a named Requirement for use with Main.check.
+   * Each Requirement returns a shared Maybe rather than allocating one.</p>
+   * @return  the requirements of this set, in order
+   */
+  List<Requirement> asRequirements() {
+    List<Requirement> requirements = new ArrayList<Requirement>(rules.length);
+    for (int i = 0; i < rules.length; i++) {
+      final Rule rule = rules[i];
+      final Maybe<RequirementNotMet> failed = Maybe.apply(unmet[i]);
+      requirements.add(new Requirement(names[i],
+          person -> rule.test(person) ? Maybe.<RequirementNotMet>nothing() : failed));
+    }
+    return Collections.unmodifiableList(requirements);
+  }
+
+  @Override
+  public String toString() {
+    return "CompiledRequirements" + Arrays.toString(names);
+  }
+
+  /**
+   * <p>A mutable builder of a CompiledRequirements. Requirements are numbered
+   * in the order they are added.</p>
+   */
+  static final class Builder {
+    private final List<String> names = new ArrayList<String>();
+    private final List<Rule> rules = new ArrayList<Rule>();
+    private final List<RequirementNotMet> unmet = new ArrayList<RequirementNotMet>();
+
+    private Builder() {}
+
+    /**
+     * <p>Adds a requirement.</p>
+     * @param name    the name of the requirement
+     * @param rule    the rule a person must satisfy to meet the requirement
+     * @param field   the field reported when the requirement is not met
+     * @param reason  the reason reported when the requirement is not met
+     * @return        this Builder
+     * @throws        IllegalArgumentException if the set already holds MAX_REQUIREMENTS
+     */
+    Builder require(String name, Rule rule, String field, String reason) {
+      if (rules.size() == MAX_REQUIREMENTS)
+        throw new IllegalArgumentException("more than " + MAX_REQUIREMENTS + " requirements");
+      names.add(name);
+      rules.add(rule);
+      unmet.add(new RequirementNotMet(field, reason));
+      return this;
+    }
+
+    CompiledRequirements build() {
+      return new CompiledRequirements(
+          names.toArray(new String[0]),
+          rules.toArray(new Rule[0]),
+          unmet.toArray(new RequirementNotMet[0]));
+    }
+  }
+
+}
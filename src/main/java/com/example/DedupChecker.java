@@ -0,0 +1,82 @@
+package com.example;
+
+import com.example.Main.Person;
+import com.example.Main.RequirementNotMet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * <p>A deduplicating stage in front of a requirement checker.</p>
+ * <p>Every input is first canonicalized through a shared {@link Interner}, so
+ * equal records become the same instance. Within a batch each distinct record
+ * is then checked once and the resulting Either is shared by all of its
+ * duplicates. A Right therefore wraps the canonical record, which is equal to,
+ * but not necessarily the same instance as, the record passed in. E.G.</p>
+ * <pre>
+ *   <blockqoute>
+ *     DedupChecker dedup = new DedupChecker(Main.seniorFemale::check);
+ *     List&lt;Either&lt;List&lt;RequirementNotMet&gt;, Person&gt;&gt; results = dedup.checkAll(people);
+ *   </blockqoute>
+ * </pre>
+ * <p>Batches may be checked concurrently from several threads.</p>
+ *
+ * @author Bob Carberry
+ */
+final class DedupChecker {
+
+  private final Function<? super Person, ? extends Either<List<RequirementNotMet>, Person>> checker;
+  private final Interner<Person> interner = new Interner<Person>();
+  private final LongAdder evaluations = new LongAdder();
+
+  /**
+   * @param checker  the checker applied to each distinct record
+   */
+  DedupChecker(Function<? super Person, ? extends Either<List<RequirementNotMet>, Person>> checker) {
+    this.checker = checker;
+  }
+
+  /**
+   * <p>Checks every person in order, evaluating each distinct person once.</p>
+   * @param people  the records to check
+   * @return        an immutable list with the result for each record, in order
+   */
+  List<Either<List<RequirementNotMet>, Person>> checkAll(List<Person> people) {
+    Map<Person, Either<List<RequirementNotMet>, Person>> checked =
+        new IdentityHashMap<Person, Either<List<RequirementNotMet>, Person>>();
+    List<Either<List<RequirementNotMet>, Person>> results =
+        new ArrayList<Either<List<RequirementNotMet>, Person>>(people.size());
+    for (Person person : people) {
+      Person canonical = interner.intern(person);
+      Either<List<RequirementNotMet>, Person> result = checked.get(canonical);
+      if (result == null) {
+        result = checker.apply(canonical);
+        evaluations.increment();
+        checked.put(canonical, result);
+      }
+      results.add(result);
+    }
+    return Collections.unmodifiableList(results);
+  }
+
+  /**
+   * @param person  a record
+   * @return        the canonical instance equal to person
+   */
+  Person canonical(Person person) {
+    return interner.intern(person);
+  }
+
+  /**
+   * @return  the number of times the underlying checker has been applied
+   */
+  long evaluations() {
+    return evaluations.sum();
+  }
+
+}
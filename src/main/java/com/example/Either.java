@@ -1,5 +1,6 @@
 package com.example;
 
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -26,6 +27,11 @@ public abstract class Either<A, B> {
     return (Either<L,R>)new Right<R>(value);
   }
 
+  // private helper method for returning a Left as an Either of any right type
+  private static <L, R> Either<L, R> firstLeft(Either<? extends L, ?> left) {
+    return (Either<L,R>) left;
+  }
+
   /**
    * <p>Creates a LeftBuilder which can be used to wrap a value as a Left instance
    * of Either. E.G.</p>
@@ -182,6 +188,303 @@ public abstract class Either<A, B> {
       throw new NoSuchElementException();
   }
 
+  /**
+   * <p>Combines this Either with another Either using f if both are Right,
+   * otherwise returns this if it is a Left or else other. The same as
+   * Either.map2(this, other, f).</p>
+   * @param other  the Either to combine with this one
+   * @param f      the function to apply to both right values
+   * @param <C>    the right type of other
+   * @param <D>    the type of the result of f
+   * @return       Right the result of f or the first Left
+   */
+  public final <C, D> Either<A,D> zip(
+      Either<? extends A, ? extends C> other, BiFunction<? super B, ? super C, ? extends D> f) {
+    return map2(this, other, f);
+  }
+
+  /**
+   * <p>Applies f to the values of two Eithers if both are Right, otherwise
+   * returns the first Left without calling f. Only the resulting Right is
+   * allocated, unlike the equivalent nested flatMap and map. E.G.</p>
+   * <pre>
+   *   <blockqoute>
+   *     Either&lt;String,String&gt; fullName = Either.map2(first, last, (x, y) -&gt; x + ' ' + y);
+   *   </blockqoute>
+   * </pre>
+   * @param ea   an Either with right type A
+   * @param eb   an Either with right type B
+   * @param f    the function to apply to the right values
+   * @param <L>  the left type
+   * @param <A>  the right type of ea
+   * @param <B>  the right type of eb
+   * @param <R>  the type of the result of f
+   * @return     Right the result of f or the first Left
+   */
+  public static <L, A, B, R> Either<L,R> map2(
+      Either<? extends L, ? extends A> ea, Either<? extends L, ? extends B> eb,
+      BiFunction<? super A, ? super B, ? extends R> f) {
+    if (ea instanceof Right && eb instanceof Right)
+      return rt(f.apply(
+          ((Right<? extends A>) ea).value,
+          ((Right<? extends B>) eb).value));
+    else
+      return firstLeft(ea instanceof Left ? ea : eb);
+  }
+
+  /**
+   * <p>Applies f to the values of three Eithers if all are Right, otherwise
+   * returns the first Left, in argument order, without calling f.</p>
+   * @param ea   an Either with right type A
+   * @param eb   an Either with right type B
+   * @param ec   an Either with right type C
+   * @param f    the function to apply to the right values
+   * @param <L>  the left type
+   * @param <A>  the right type of ea
+   * @param <B>  the right type of eb
+   * @param <C>  the right type of ec
+   * @param <R>  the type of the result of f
+   * @return     Right the result of f or the first Left
+   */
+  public static <L, A, B, C, R> Either<L,R> map3(
+      Either<? extends L, ? extends A> ea,
+      Either<? extends L, ? extends B> eb,
+      Either<? extends L, ? extends C> ec,
+      Function3<? super A, ? super B, ? super C, ? extends R> f) {
+    if (ea instanceof Right && eb instanceof Right && ec instanceof Right)
+      return rt(f.apply(
+          ((Right<? extends A>) ea).value,
+          ((Right<? extends B>) eb).value,
+          ((Right<? extends C>) ec).value));
+    else
+      return firstLeft(ea instanceof Left ? ea : eb instanceof Left ? eb : ec);
+  }
+
+  /**
+   * <p>Applies f to the values of four Eithers if all are Right, otherwise
+   * returns the first Left, in argument order, without calling f.</p>
+   * @param ea   an Either with right type A
+   * @param eb   an Either with right type B
+   * @param ec   an Either with right type C
+   * @param ed   an Either with right type D
+   * @param f    the function to apply to the right values
+   * @param <L>  the left type
+   * @param <A>  the right type of ea
+   * @param <B>  the right type of eb
+   * @param <C>  the right type of ec
+   * @param <D>  the right type of ed
+   * @param <R>  the type of the result of f
+   * @return     Right the result of f or the first Left
+   */
+  public static <L, A, B, C, D, R> Either<L,R> map4(
+      Either<? extends L, ? extends A> ea,
+      Either<? extends L, ? extends B> eb,
+      Either<? extends L, ? extends C> ec,
+      Either<? extends L, ? extends D> ed,
+      Function4<? super A, ? super B, ? super C, ? super D, ? extends R> f) {
+    if (ea instanceof Right
+        && eb instanceof Right
+        && ec instanceof Right
+        && ed instanceof Right)
+      return rt(f.apply(
+          ((Right<? extends A>) ea).value,
+          ((Right<? extends B>) eb).value,
+          ((Right<? extends C>) ec).value,
+          ((Right<? extends D>) ed).value));
+    else
+      return firstLeft(ea instanceof Left ? ea : eb instanceof Left ? eb : ec instanceof Left ? ec : ed);
+  }
+
+  /**
+   * <p>Applies f to the values of five Eithers if all are Right, otherwise
+   * returns the first Left, in argument order, without calling f.</p>
+   * @param ea   an Either with right type A
+   * @param eb   an Either with right type B
+   * @param ec   an Either with right type C
+   * @param ed   an Either with right type D
+   * @param ee   an Either with right type E
+   * @param f    the function to apply to the right values
+   * @param <L>  the left type
+   * @param <A>  the right type of ea
+   * @param <B>  the right type of eb
+   * @param <C>  the right type of ec
+   * @param <D>  the right type of ed
+   * @param <E>  the right type of ee
+   * @param <R>  the type of the result of f
+   * @return     Right the result of f or the first Left
+   */
+  public static <L, A, B, C, D, E, R> Either<L,R> map5(
+      Either<? extends L, ? extends A> ea,
+      Either<? extends L, ? extends B> eb,
+      Either<? extends L, ? extends C> ec,
+      Either<? extends L, ? extends D> ed,
+      Either<? extends L, ? extends E> ee,
+      Function5<? super A, ? super B, ? super C, ? super D, ? super E, ? extends R> f) {
+    if (ea instanceof Right
+        && eb instanceof Right
+        && ec instanceof Right
+        && ed instanceof Right
+        && ee instanceof Right)
+      return rt(f.apply(
+          ((Right<? extends A>) ea).value,
+          ((Right<? extends B>) eb).value,
+          ((Right<? extends C>) ec).value,
+          ((Right<? extends D>) ed).value,
+          ((Right<? extends E>) ee).value));
+    else
+      return firstLeft(ea instanceof Left ? ea : eb instanceof Left ? eb : ec instanceof Left ? ec : ed instanceof Left ? ed : ee);
+  }
+
+  /**
+   * <p>Applies f to the values of six Eithers if all are Right, otherwise
+   * returns the first Left, in argument order, without calling f.</p>
+   * @param ea   an Either with right type A
+   * @param eb   an Either with right type B
+   * @param ec   an Either with right type C
+   * @param ed   an Either with right type D
+   * @param ee   an Either with right type E
+   * @param ef   an Either with right type F
+   * @param f    the function to apply to the right values
+   * @param <L>  the left type
+   * @param <A>  the right type of ea
+   * @param <B>  the right type of eb
+   * @param <C>  the right type of ec
+   * @param <D>  the right type of ed
+   * @param <E>  the right type of ee
+   * @param <F>  the right type of ef
+   * @param <R>  the type of the result of f
+   * @return     Right the result of f or the first Left
+   */
+  public static <L, A, B, C, D, E, F, R> Either<L,R> map6(
+      Either<? extends L, ? extends A> ea,
+      Either<? extends L, ? extends B> eb,
+      Either<? extends L, ? extends C> ec,
+      Either<? extends L, ? extends D> ed,
+      Either<? extends L, ? extends E> ee,
+      Either<? extends L, ? extends F> ef,
+      Function6<? super A, ? super B, ? super C, ? super D, ? super E, ? super F, ? extends R> f) {
+    if (ea instanceof Right
+        && eb instanceof Right
+        && ec instanceof Right
+        && ed instanceof Right
+        && ee instanceof Right
+        && ef instanceof Right)
+      return rt(f.apply(
+          ((Right<? extends A>) ea).value,
+          ((Right<? extends B>) eb).value,
+          ((Right<? extends C>) ec).value,
+          ((Right<? extends D>) ed).value,
+          ((Right<? extends E>) ee).value,
+          ((Right<? extends F>) ef).value));
+    else
+      return firstLeft(ea instanceof Left ? ea : eb instanceof Left ? eb : ec instanceof Left ? ec : ed instanceof Left ? ed : ee instanceof Left ? ee : ef);
+  }
+
+  /**
+   * <p>Applies f to the values of seven Eithers if all are Right, otherwise
+   * returns the first Left, in argument order, without calling f.</p>
+   * @param ea   an Either with right type A
+   * @param eb   an Either with right type B
+   * @param ec   an Either with right type C
+   * @param ed   an Either with right type D
+   * @param ee   an Either with right type E
+   * @param ef   an Either with right type F
+   * @param eg   an Either with right type G
+   * @param f    the function to apply to the right values
+   * @param <L>  the left type
+   * @param <A>  the right type of ea
+   * @param <B>  the right type of eb
+   * @param <C>  the right type of ec
+   * @param <D>  the right type of ed
+   * @param <E>  the right type of ee
+   * @param <F>  the right type of ef
+   * @param <G>  the right type of eg
+   * @param <R>  the type of the result of f
+   * @return     Right the result of f or the first Left
+   */
+  public static <L, A, B, C, D, E, F, G, R> Either<L,R> map7(
+      Either<? extends L, ? extends A> ea,
+      Either<? extends L, ? extends B> eb,
+      Either<? extends L, ? extends C> ec,
+      Either<? extends L, ? extends D> ed,
+      Either<? extends L, ? extends E> ee,
+      Either<? extends L, ? extends F> ef,
+      Either<? extends L, ? extends G> eg,
+      Function7<? super A, ? super B, ? super C, ? super D, ? super E, ? super F, ? super G, ? extends R> f) {
+    if (ea instanceof Right
+        && eb instanceof Right
+        && ec instanceof Right
+        && ed instanceof Right
+        && ee instanceof Right
+        && ef instanceof Right
+        && eg instanceof Right)
+      return rt(f.apply(
+          ((Right<? extends A>) ea).value,
+          ((Right<? extends B>) eb).value,
+          ((Right<? extends C>) ec).value,
+          ((Right<? extends D>) ed).value,
+          ((Right<? extends E>) ee).value,
+          ((Right<? extends F>) ef).value,
+          ((Right<? extends G>) eg).value));
+    else
+      return firstLeft(ea instanceof Left ? ea : eb instanceof Left ? eb : ec instanceof Left ? ec : ed instanceof Left ? ed : ee instanceof Left ? ee : ef instanceof Left ? ef : eg);
+  }
+
+  /**
+   * <p>Applies f to the values of eight Eithers if all are Right, otherwise
+   * returns the first Left, in argument order, without calling f.</p>
+   * @param ea   an Either with right type A
+   * @param eb   an Either with right type B
+   * @param ec   an Either with right type C
+   * @param ed   an Either with right type D
+   * @param ee   an Either with right type E
+   * @param ef   an Either with right type F
+   * @param eg   an Either with right type G
+   * @param eh   an Either with right type H
+   * @param f    the function to apply to the right values
+   * @param <L>  the left type
+   * @param <A>  the right type of ea
+   * @param <B>  the right type of eb
+   * @param <C>  the right type of ec
+   * @param <D>  the right type of ed
+   * @param <E>  the right type of ee
+   * @param <F>  the right type of ef
+   * @param <G>  the right type of eg
+   * @param <H>  the right type of eh
+   * @param <R>  the type of the result of f
+   * @return     Right the result of f or the first Left
+   */
+  public static <L, A, B, C, D, E, F, G, H, R> Either<L,R> map8(
+      Either<? extends L, ? extends A> ea,
+      Either<? extends L, ? extends B> eb,
+      Either<? extends L, ? extends C> ec,
+      Either<? extends L, ? extends D> ed,
+      Either<? extends L, ? extends E> ee,
+      Either<? extends L, ? extends F> ef,
+      Either<? extends L, ? extends G> eg,
+      Either<? extends L, ? extends H> eh,
+      Function8<? super A, ? super B, ? super C, ? super D, ? super E, ? super F, ? super G, ? super H, ? extends R> f) {
+    if (ea instanceof Right
+        && eb instanceof Right
+        && ec instanceof Right
+        && ed instanceof Right
+        && ee instanceof Right
+        && ef instanceof Right
+        && eg instanceof Right
+        && eh instanceof Right)
+      return rt(f.apply(
+          ((Right<? extends A>) ea).value,
+          ((Right<? extends B>) eb).value,
+          ((Right<? extends C>) ec).value,
+          ((Right<? extends D>) ed).value,
+          ((Right<? extends E>) ee).value,
+          ((Right<? extends F>) ef).value,
+          ((Right<? extends G>) eg).value,
+          ((Right<? extends H>) eh).value));
+    else
+      return firstLeft(ea instanceof Left ? ea : eb instanceof Left ? eb : ec instanceof Left ? ec : ed instanceof Left ? ed : ee instanceof Left ? ee : ef instanceof Left ? ef : eg instanceof Left ? eg : eh);
+  }
+
   /**
    * <p>Left is a concrete implementation of Either that contains
    * a value of type A.</p>
@@ -0,0 +1,411 @@
+package com.example;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>EitherArray&lt;A,B&gt; is an immutable, ordered batch of Either&lt;A,B&gt;
+ * values stored column-wise.</p>
+ * <p>Instead of one Left or Right object per element the batch keeps a tag
+ * bitmap (a set bit marks a Right) plus two densely packed columns, one holding
+ * every left value and one holding every right value in their original order.
+ * Bulk operations such as rights(), lefts(), countLefts() and mapRights() work
+ * directly on the packed columns while get(i) rebuilds the Either for a single
+ * position. E.G.</p>
+ * <pre>
+ *   <blockqoute>
+ *     EitherArray&lt;String,Integer&gt; results = EitherArray.&lt;String,Integer&gt;builder()
+ *         .addRight(1)
+ *         .addLeft("error")
+ *         .addRight(2)
+ *         .build();
+ *     results.rights();      // [1, 2]
+ *     results.countLefts();  // 1
+ *     results.get(1).equals(Either.left("error").value()); // == true
+ *   </blockqoute>
+ * </pre>
+ * @param <A>  the left type
+ * @param <B>  the right type
+ *
+ * @author Bob Carberry
+ */
+public final class EitherArray<A, B> implements Iterable<Either<A, B>> {
+
+  private static final int CHARACTERISTICS =
+      Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE;
+
+  private final int size;
+  // one bit per element, set when the element is a Right
+  private final long[] tags;
+  // number of Rights that appear before each word of tags
+  private final int[] rightsBefore;
+  private final Object[] lefts;
+  private final Object[] rights;
+
+  private EitherArray(int size, long[] tags, int[] rightsBefore, Object[] lefts, Object[] rights) {
+    this.size = size;
+    this.tags = tags;
+    this.rightsBefore = rightsBefore;
+    this.lefts = lefts;
+    this.rights = rights;
+  }
+
+  /**
+   * <p>Creates an empty Builder for accumulating an EitherArray in order.</p>
+   * @param <L>  the left type
+   * @param <R>  the right type
+   * @return     a new Builder
+   */
+  public static <L, R> Builder<L, R> builder() {
+    return new Builder<L, R>(16);
+  }
+
+  /**
+   * <p>Creates an empty Builder with room for expectedSize elements before it
+   * has to grow.</p>
+   * @param expectedSize  the number of elements expected to be added
+   * @param <L>           the left type
+   * @param <R>           the right type
+   * @return              a new Builder
+   */
+  public static <L, R> Builder<L, R> builder(int expectedSize) {
+    return new Builder<L, R>(Math.max(expectedSize, 1));
+  }
+
+  /**
+   * <p>Copies a sequence of Either values into a new EitherArray.</p>
+   * @param values  the values to copy, in order
+   * @param <L>     the left type
+   * @param <R>     the right type
+   * @return        an EitherArray with the same elements as values
+   */
+  public static <L, R> EitherArray<L, R> from(Iterable<? extends Either<? extends L, ? extends R>> values) {
+    Builder<L, R> builder = builder();
+    for (Either<? extends L, ? extends R> value : values)
+      builder.add(value);
+    return builder.build();
+  }
+
+  /**
+   * <p>A Collector that gathers a stream of Either values into an EitherArray.
+   * Encounter order is preserved so it is safe to use with parallel streams.</p>
+   * @param <L>  the left type
+   * @param <R>  the right type
+   * @return     a Collector producing an EitherArray
+   */
+  public static <L, R> Collector<Either<? extends L, ? extends R>, ?, EitherArray<L, R>> collector() {
+    return Collector.of(
+        EitherArray::<L, R>builder,
+        Builder::add,
+        Builder::addAll,
+        Builder::build);
+  }
+
+  /**
+   * @return  the number of elements in this EitherArray
+   */
+  public int size() { return size; }
+
+  /**
+   * @return  the number of elements that are a Left
+   */
+  public int countLefts() { return lefts.length; }
+
+  /**
+   * @return  the number of elements that are a Right
+   */
+  public int countRights() { return rights.length; }
+
+  /**
+   * <p>Tests the tag of the element at index without touching either column.</p>
+   * @param index  the position of the element
+   * @return       true if the element at index is a Right
+   * @throws       IndexOutOfBoundsException if index is not in [0, size)
+   */
+  public boolean isRight(int index) {
+    checkIndex(index);
+    return (tags[index >>> 6] & (1L << index)) != 0;
+  }
+
+  /**
+   * <p>Tests the tag of the element at index without touching either column.</p>
+   * @param index  the position of the element
+   * @return       true if the element at index is a Left
+   * @throws       IndexOutOfBoundsException if index is not in [0, size)
+   */
+  public boolean isLeft(int index) {
+    return !isRight(index);
+  }
+
+  /**
+   * <p>Rebuilds the Either stored at index.</p>
+   * @param index  the position of the element
+   * @return       the element at index as a Left or a Right
+   * @throws       IndexOutOfBoundsException if index is not in [0, size)
+   */
+  @SuppressWarnings("unchecked")
+  public Either<A, B> get(int index) {
+    boolean right = isRight(index);
+    int r = rightRank(index);
+    if (right)
+      return Either.right((B) rights[r]).value();
+    else
+      return Either.left((A) lefts[index - r]).value();
+  }
+
+  /**
+   * @return  an unmodifiable list of every left value in encounter order
+   */
+  @SuppressWarnings("unchecked")
+  public List<A> lefts() {
+    return Collections.unmodifiableList(Arrays.asList((A[]) lefts));
+  }
+
+  /**
+   * @return  an unmodifiable list of every right value in encounter order
+   */
+  @SuppressWarnings("unchecked")
+  public List<B> rights() {
+    return Collections.unmodifiableList(Arrays.asList((B[]) rights));
+  }
+
+  /**
+   * <p>Applies f to every right value leaving the lefts unchanged. Only the
+   * right column is rebuilt; the tag bitmap and the left column are shared with
+   * this EitherArray.</p>
+   * @param f    a function that maps a type B to a type C
+   * @param <C>  the right type of the new EitherArray
+   * @return     a new EitherArray with f applied to every Right
+   */
+  @SuppressWarnings("unchecked")
+  public <C> EitherArray<A, C> mapRights(Function<? super B, ? extends C> f) {
+    Object[] mapped = new Object[rights.length];
+    for (int i = 0; i < rights.length; i++)
+      mapped[i] = f.apply((B) rights[i]);
+    return new EitherArray<A, C>(size, tags, rightsBefore, lefts, mapped);
+  }
+
+  /**
+   * @return  a splittable Spliterator over every element as an Either
+   */
+  @Override
+  public Spliterator<Either<A, B>> spliterator() {
+    return new EitherSpliterator(0, size);
+  }
+
+  /**
+   * @return  a splittable Spliterator over the left column
+   */
+  @SuppressWarnings("unchecked")
+  public Spliterator<A> leftSpliterator() {
+    return Spliterators.spliterator((A[]) lefts, CHARACTERISTICS);
+  }
+
+  /**
+   * @return  a splittable Spliterator over the right column
+   */
+  @SuppressWarnings("unchecked")
+  public Spliterator<B> rightSpliterator() {
+    return Spliterators.spliterator((B[]) rights, CHARACTERISTICS);
+  }
+
+  /**
+   * @param parallel  whether the returned stream should be parallel
+   * @return          a stream of every element as an Either
+   */
+  public Stream<Either<A, B>> stream(boolean parallel) {
+    return StreamSupport.stream(spliterator(), parallel);
+  }
+
+  @Override
+  public Iterator<Either<A, B>> iterator() {
+    return Spliterators.iterator(spliterator());
+  }
+
+  @Override
+  public String toString() {
+    return "EitherArray(size=" + size + ", lefts=" + lefts.length + ", rights=" + rights.length + ')';
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+  }
+
+  // the number of Rights strictly before index
+  private int rightRank(int index) {
+    int word = index >>> 6;
+    long below = (1L << index) - 1;
+    return rightsBefore[word] + Long.bitCount(tags[word] & below);
+  }
+
+  /*
+   * Walks a range of positions. The column offsets for the start of the range
+   * are computed once and then advanced by the tag bits, so traversal never
+   * needs a rank lookup per element.
+   */
+  private final class EitherSpliterator implements Spliterator<Either<A, B>> {
+    private int index;
+    private final int fence;
+
+    EitherSpliterator(int origin, int fence) {
+      this.index = origin;
+      this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Either<A, B>> action) {
+      if (index >= fence)
+        return false;
+      action.accept(get(index++));
+      return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachRemaining(Consumer<? super Either<A, B>> action) {
+      int i = index;
+      if (i >= fence)
+        return;
+      int r = rightRank(i);
+      int l = i - r;
+      for (; i < fence; i++) {
+        if ((tags[i >>> 6] & (1L << i)) != 0)
+          action.accept(Either.right((B) rights[r++]).value());
+        else
+          action.accept(Either.left((A) lefts[l++]).value());
+      }
+      index = fence;
+    }
+
+    @Override
+    public Spliterator<Either<A, B>> trySplit() {
+      int mid = (index + fence) >>> 1;
+      if (mid <= index)
+        return null;
+      EitherSpliterator prefix = new EitherSpliterator(index, mid);
+      index = mid;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() { return fence - index; }
+
+    @Override
+    public int characteristics() { return CHARACTERISTICS; }
+  }
+
+  /**
+   * <p>A mutable builder that appends elements to the end of an EitherArray.
+   * A Builder is not thread safe.</p>
+   * @param <A>  the left type
+   * @param <B>  the right type
+   */
+  public static final class Builder<A, B> {
+    private int size;
+    private long[] tags;
+    private Object[] lefts;
+    private int leftCount;
+    private Object[] rights;
+    private int rightCount;
+
+    private Builder(int capacity) {
+      this.tags = new long[(capacity + 63) >>> 6];
+      this.lefts = new Object[capacity];
+      this.rights = new Object[capacity];
+    }
+
+    /**
+     * <p>Appends a value as a Left.</p>
+     * @param value  the left value
+     * @return       this Builder
+     */
+    public Builder<A, B> addLeft(A value) {
+      ensureTags();
+      if (leftCount == lefts.length)
+        lefts = Arrays.copyOf(lefts, leftCount * 2);
+      lefts[leftCount++] = value;
+      size++;
+      return this;
+    }
+
+    /**
+     * <p>Appends a value as a Right.</p>
+     * @param value  the right value
+     * @return       this Builder
+     */
+    public Builder<A, B> addRight(B value) {
+      ensureTags();
+      if (rightCount == rights.length)
+        rights = Arrays.copyOf(rights, rightCount * 2);
+      rights[rightCount++] = value;
+      tags[size >>> 6] |= 1L << size;
+      size++;
+      return this;
+    }
+
+    /**
+     * <p>Appends an Either, unwrapping it into the matching column.</p>
+     * @param value  the Either to append
+     * @return       this Builder
+     */
+    @SuppressWarnings("unchecked")
+    public Builder<A, B> add(Either<? extends A, ? extends B> value) {
+      if (value instanceof Either.Left)
+        return addLeft(((Either.Left<A>) value).value);
+      else if (value instanceof Either.Right)
+        return addRight(((Either.Right<B>) value).value);
+      else
+        throw new IllegalArgumentException("not a Left or a Right: " + value);
+    }
+
+    /**
+     * <p>Appends every element of another Builder after the elements of this one.</p>
+     * @param other  the Builder whose elements are appended
+     * @return       this Builder
+     */
+    @SuppressWarnings("unchecked")
+    public Builder<A, B> addAll(Builder<A, B> other) {
+      int l = 0;
+      int r = 0;
+      for (int i = 0; i < other.size; i++) {
+        if ((other.tags[i >>> 6] & (1L << i)) != 0)
+          addRight((B) other.rights[r++]);
+        else
+          addLeft((A) other.lefts[l++]);
+      }
+      return this;
+    }
+
+    /**
+     * @return  a new EitherArray holding every element appended so far
+     */
+    public EitherArray<A, B> build() {
+      int words = (size + 63) >>> 6;
+      long[] packedTags = Arrays.copyOf(tags, Math.max(words, 1));
+      int[] rightsBefore = new int[packedTags.length];
+      int running = 0;
+      for (int w = 0; w < packedTags.length; w++) {
+        rightsBefore[w] = running;
+        running += Long.bitCount(packedTags[w]);
+      }
+      return new EitherArray<A, B>(size, packedTags, rightsBefore,
+          Arrays.copyOf(lefts, leftCount), Arrays.copyOf(rights, rightCount));
+    }
+
+    private void ensureTags() {
+      if ((size >>> 6) == tags.length)
+        tags = Arrays.copyOf(tags, tags.length * 2);
+    }
+  }
+
+}
@@ -0,0 +1,319 @@
+package com.example;
+
+import com.example.Main.RequirementNotMet;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>Folds validation results into failure statistics while validation runs
+ * on many threads, without recorders ever waiting.</p>
+ * <p>Every thread that records gets a counter cell of its own, so recording
+ * is uncontended: no locks, no compare-and-set and no fences, just ordered
+ * stores to memory only that thread writes. Each cell is a seqlock. Its
+ * version is odd while its thread is recording a result, and snapshot()
+ * reads a cell again whenever the version was odd or changed during the
+ * read. A snapshot may have to retry, but it never delays a recorder.</p>
+ * <p>The retries are bounded: a cell is read at most MAX_READS times. If its
+ * thread was recording through every one of them, because it records
+ * continuously or because it died part way through a result, the last read
+ * is used and the Snapshot is marked inexact. Every count in it is still a
+ * value the counter held during the snapshot, but the counts of the results
+ * being recorded may be partly included. An exact Snapshot contains either
+ * all or none of the counts of any one result. E.G.</p>
+ * <pre>
+ *   <blockquote>
+ *     FailureAggregator aggregator = new FailureAggregator();
+ *     people.parallelStream().map(requirements::check).forEach(aggregator::record);
+ *     aggregator.snapshot().topReasons(3);
+ *   </blockquote>
+ * </pre>
+ * <p>Fields and reasons are numbered the first time they are seen, which
+ * briefly locks one bin of a ConcurrentHashMap; after that they are only
+ * looked up.</p>
+ *
+ * @author Bob Carberry
+ */
+final class FailureAggregator {
+
+  /** The most times snapshot() reads one thread's counters before settling for an inexact copy. */
+  static final int MAX_READS = 64;
+
+  private final ThreadLocal<Cell> cells = ThreadLocal.withInitial(this::newCell);
+  private final List<Cell> allCells = new CopyOnWriteArrayList<Cell>();
+  private final ConcurrentMap<String, Integer> fieldIndexes = new ConcurrentHashMap<String, Integer>();
+  private final ConcurrentMap<RequirementNotMet, Integer> reasonIndexes =
+      new ConcurrentHashMap<RequirementNotMet, Integer>();
+  private final AtomicInteger nextField = new AtomicInteger();
+  private final AtomicInteger nextReason = new AtomicInteger();
+
+  /**
+   * <p>Counts a single validation result.</p>
+   * @param result  the outcome of checking one record
+   */
+  @SuppressWarnings("unchecked")
+  void record(Either<? extends List<RequirementNotMet>, ?> result) {
+    if (result instanceof Either.Left)
+      record(((Either.Left<List<RequirementNotMet>>) result).value);
+    else
+      record(Collections.<RequirementNotMet>emptyList());
+  }
+
+  /**
+   * <p>Counts a single record with the given unmet requirements.</p>
+   * @param unmet  the unmet requirements of one record, empty if it passed
+   */
+  void record(List<RequirementNotMet> unmet) {
+    Cell cell = cells.get();
+    if (unmet.isEmpty()) {
+      cell.begin();
+      cell.increment(cell.totals, Cell.RECORDS);
+      cell.end();
+      return;
+    }
+    int n = unmet.size();
+    int[] fields = cell.fieldScratch(n);
+    int[] reasons = cell.reasonScratch(n);
+    int maxField = 0;
+    int maxReason = 0;
+    for (int i = 0; i < n; i++) {
+      RequirementNotMet requirement = unmet.get(i);
+      fields[i] = index(fieldIndexes, nextField, requirement.getField());
+      reasons[i] = index(reasonIndexes, nextReason, requirement);
+      maxField = Math.max(maxField, fields[i]);
+      maxReason = Math.max(maxReason, reasons[i]);
+    }
+    // growing allocates, so it is done before the version goes odd
+    cell.reserve(maxField, maxReason);
+    cell.begin();
+    cell.increment(cell.totals, Cell.RECORDS);
+    cell.increment(cell.totals, Cell.FAILED);
+    AtomicLongArray byField = cell.byField;
+    AtomicLongArray byReason = cell.byReason;
+    for (int i = 0; i < n; i++) {
+      cell.increment(byField, fields[i]);
+      cell.increment(byReason, reasons[i]);
+    }
+    cell.end();
+  }
+
+  /**
+   * <p>Sums the counters of every thread, taking each thread's counters
+   * between two of its recordings when it can do so within MAX_READS
+   * reads.</p>
+   * @return  a Snapshot, holding all or none of the counts of each result
+   *          if it is exact
+   */
+  Snapshot snapshot() {
+    long records = 0;
+    long failed = 0;
+    long[] byField = new long[nextField.get()];
+    long[] byReason = new long[nextReason.get()];
+    boolean exact = true;
+    for (Cell cell : allCells) {
+      long[] totals;
+      long[] fields;
+      long[] reasons;
+      for (int reads = 1; ; reads++) {
+        long version = cell.version.get();
+        totals = copy(cell.totals);
+        fields = copy(cell.byField);
+        reasons = copy(cell.byReason);
+        if ((version & 1L) == 0L && cell.version.get() == version)
+          break;
+        if (reads == MAX_READS) {
+          exact = false;
+          break;
+        }
+        Thread.yield();
+      }
+      records += totals[Cell.RECORDS];
+      failed += totals[Cell.FAILED];
+      byField = add(byField, fields);
+      byReason = add(byReason, reasons);
+    }
+    SortedMap<String, Long> fields = new TreeMap<String, Long>();
+    for (Map.Entry<String, Integer> entry : fieldIndexes.entrySet()) {
+      int i = entry.getValue();
+      if (i < byField.length && byField[i] != 0L)
+        fields.put(entry.getKey(), byField[i]);
+    }
+    List<Map.Entry<RequirementNotMet, Long>> reasons = new ArrayList<Map.Entry<RequirementNotMet, Long>>();
+    for (Map.Entry<RequirementNotMet, Integer> entry : reasonIndexes.entrySet()) {
+      int i = entry.getValue();
+      if (i < byReason.length && byReason[i] != 0L)
+        reasons.add(new AbstractMap.SimpleImmutableEntry<RequirementNotMet, Long>(entry.getKey(), byReason[i]));
+    }
+    return new Snapshot(records, failed, fields, reasons, exact);
+  }
+
+  private Cell newCell() {
+    Cell cell = new Cell();
+    allCells.add(cell);
+    return cell;
+  }
+
+  private static <K> int index(ConcurrentMap<K, Integer> indexes, AtomicInteger next, K key) {
+    Integer index = indexes.get(key);
+    if (index != null)
+      return index;
+    return indexes.computeIfAbsent(key, k -> next.getAndIncrement());
+  }
+
+  private static long[] copy(AtomicLongArray counters) {
+    long[] values = new long[counters.length()];
+    for (int i = 0; i < values.length; i++)
+      values[i] = counters.get(i);
+    return values;
+  }
+
+  private static long[] add(long[] sums, long[] values) {
+    if (values.length > sums.length)
+      sums = Arrays.copyOf(sums, values.length);
+    for (int i = 0; i < values.length; i++)
+      sums[i] += values[i];
+    return sums;
+  }
+
+  /*
+   * The counters of one recording thread. Only that thread writes them, with
+   * lazySet, whose release ordering makes the odd version visible before any
+   * counter it guards and every counter before the following even version.
+   */
+  private static final class Cell {
+    static final int RECORDS = 0;
+    static final int FAILED = 1;
+
+    final AtomicLong version = new AtomicLong();
+    final AtomicLongArray totals = new AtomicLongArray(2);
+    volatile AtomicLongArray byField = new AtomicLongArray(8);
+    volatile AtomicLongArray byReason = new AtomicLongArray(16);
+    private int[] fieldScratch = new int[4];
+    private int[] reasonScratch = new int[4];
+
+    void begin() { version.lazySet(version.get() + 1); }
+
+    void end() { version.lazySet(version.get() + 1); }
+
+    void increment(AtomicLongArray counters, int index) {
+      counters.lazySet(index, counters.get(index) + 1);
+    }
+
+    // makes room for the given field and reason indexes
+    void reserve(int field, int reason) {
+      if (field >= byField.length())
+        byField = grow(byField, field);
+      if (reason >= byReason.length())
+        byReason = grow(byReason, reason);
+    }
+
+    // a copy of counters with room for index, published by the volatile write of the caller
+    private static AtomicLongArray grow(AtomicLongArray counters, int index) {
+      AtomicLongArray larger = new AtomicLongArray(Math.max(index + 1, counters.length() * 2));
+      for (int i = 0; i < counters.length(); i++)
+        larger.lazySet(i, counters.get(i));
+      return larger;
+    }
+
+    int[] fieldScratch(int n) {
+      if (fieldScratch.length < n)
+        fieldScratch = new int[n];
+      return fieldScratch;
+    }
+
+    int[] reasonScratch(int n) {
+      if (reasonScratch.length < n)
+        reasonScratch = new int[n];
+      return reasonScratch;
+    }
+  }
+
+  /**
+   * <p>The failure statistics at a point in time.</p>
+   */
+  static final class Snapshot {
+    private final long records;
+    private final long failed;
+    private final SortedMap<String, Long> byField;
+    private final List<Map.Entry<RequirementNotMet, Long>> byReason;
+    private final boolean exact;
+
+    private Snapshot(long records, long failed, SortedMap<String, Long> byField,
+                     List<Map.Entry<RequirementNotMet, Long>> byReason, boolean exact) {
+      this.records = records;
+      this.failed = failed;
+      this.exact = exact;
+      this.byField = Collections.unmodifiableSortedMap(byField);
+      byReason.sort((a, b) -> {
+        int byCount = Long.compare(b.getValue(), a.getValue());
+        if (byCount != 0)
+          return byCount;
+        int byName = a.getKey().getField().compareTo(b.getKey().getField());
+        return byName != 0 ? byName : a.getKey().getReason().compareTo(b.getKey().getReason());
+      });
+      this.byReason = Collections.unmodifiableList(byReason);
+    }
+
+    /**
+     * @return  true if every thread's counters were read between two of its
+     *          recordings, false if some were read while a result was being
+     *          recorded
+     */
+    boolean isExact() { return exact; }
+
+    /**
+     * @return  the number of records counted
+     */
+    long getRecords() { return records; }
+
+    /**
+     * @return  the number of records with at least one unmet requirement
+     */
+    long getFailed() { return failed; }
+
+    /**
+     * @return  the number of failures per RequirementNotMet field, sorted by field
+     */
+    SortedMap<String, Long> getFailuresByField() { return byField; }
+
+    /**
+     * @param requirement  a field and reason
+     * @return             the number of times that requirement was not met
+     */
+    long getFailures(RequirementNotMet requirement) {
+      for (Map.Entry<RequirementNotMet, Long> entry : byReason) {
+        if (entry.getKey().equals(requirement))
+          return entry.getValue();
+      }
+      return 0;
+    }
+
+    /**
+     * @param n  the number of reasons wanted
+     * @return   the n most frequently unmet requirements with their counts,
+     *           most frequent first
+     */
+    List<Map.Entry<RequirementNotMet, Long>> topReasons(int n) {
+      return byReason.subList(0, Math.min(n, byReason.size()));
+    }
+
+    @Override
+    public String toString() {
+      return "FailureAggregator.Snapshot(records=" + records + ", failed=" + failed + ", byField=" + byField
+          + (exact ? "" : ", inexact") + ')';
+    }
+  }
+
+}
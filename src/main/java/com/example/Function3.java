@@ -0,0 +1,24 @@
+package com.example;
+
+/**
+ * <p>A function of three arguments, for Maybe.map3 and Either.map3.</p>
+ * @param <A>  the type of the first argument
+ * @param <B>  the type of the second argument
+ * @param <C>  the type of the third argument
+ * @param <R>  the type of the result
+ *
+ * @author Bob Carberry
+ */
+@FunctionalInterface
+public interface Function3<A, B, C, R> {
+
+  /**
+   * <p>Applies this function to the arguments.</p>
+   * @param a  the first argument
+   * @param b  the second argument
+   * @param c  the third argument
+   * @return   the result
+   */
+  R apply(A a, B b, C c);
+
+}
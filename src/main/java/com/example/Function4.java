@@ -0,0 +1,26 @@
+package com.example;
+
+/**
+ * <p>A function of four arguments, for Maybe.map4 and Either.map4.</p>
+ * @param <A>  the type of the first argument
+ * @param <B>  the type of the second argument
+ * @param <C>  the type of the third argument
+ * @param <D>  the type of the fourth argument
+ * @param <R>  the type of the result
+ *
+ * @author Bob Carberry
+ */
+@FunctionalInterface
+public interface Function4<A, B, C, D, R> {
+
+  /**
+   * <p>Applies this function to the arguments.</p>
+   * @param a  the first argument
+   * @param b  the second argument
+   * @param c  the third argument
+   * @param d  the fourth argument
+   * @return   the result
+   */
+  R apply(A a, B b, C c, D d);
+
+}
@@ -0,0 +1,28 @@
+package com.example;
+
+/**
+ * <p>A function of five arguments, for Maybe.map5 and Either.map5.</p>
+ * @param <A>  the type of the first argument
+ * @param <B>  the type of the second argument
+ * @param <C>  the type of the third argument
+ * @param <D>  the type of the fourth argument
+ * @param <E>  the type of the fifth argument
+ * @param <R>  the type of the result
+ *
+ * @author Bob Carberry
+ */
+@FunctionalInterface
+public interface Function5<A, B, C, D, E, R> {
+
+  /**
+   * <p>Applies this function to the arguments.</p>
+   * @param a  the first argument
+   * @param b  the second argument
+   * @param c  the third argument
+   * @param d  the fourth argument
+   * @param e  the fifth argument
+   * @return   the result
+   */
+  R apply(A a, B b, C c, D d, E e);
+
+}
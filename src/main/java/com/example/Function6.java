@@ -0,0 +1,30 @@
+package com.example;
+
+/**
+ * <p>A function of six arguments, for Maybe.map6 and Either.map6.</p>
+ * @param <A>  the type of the first argument
+ * @param <B>  the type of the second argument
+ * @param <C>  the type of the third argument
+ * @param <D>  the type of the fourth argument
+ * @param <E>  the type of the fifth argument
+ * @param <F>  the type of the sixth argument
+ * @param <R>  the type of the result
+ *
+ * @author Bob Carberry
+ */
+@FunctionalInterface
+public interface Function6<A, B, C, D, E, F, R> {
+
+  /**
+   * <p>Applies this function to the arguments.</p>
+   * @param a  the first argument
+   * @param b  the second argument
+   * @param c  the third argument
+   * @param d  the fourth argument
+   * @param e  the fifth argument
+   * @param f  the sixth argument
+   * @return   the result
+   */
+  R apply(A a, B b, C c, D d, E e, F f);
+
+}
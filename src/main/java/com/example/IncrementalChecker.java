@@ -0,0 +1,142 @@
+package com.example;
+
+import com.example.Main.Person;
+import com.example.Main.RequirementNotMet;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * <p>Checks records against a {@link CompiledRequirements} while remembering,
+ * per record key, the last version of each record and which requirements it
+ * failed.</p>
+ * <p>Every Rule declares the fields it reads, so when a record comes back with
+ * only some fields changed only the requirements reading those fields are
+ * evaluated again; the outcome of every other requirement is carried over from
+ * the cache. An unchanged record costs one field-by-field comparison. E.G.</p>
+ * <pre>
+ *   <blockqoute>
+ *     IncrementalChecker&lt;String&gt; checker =
+ *         new IncrementalChecker&lt;String&gt;(requirements, Person::getLastName);
+ *     checker.check(mary);              // evaluates every requirement
+ *     checker.check(olderMary);         // evaluates only the age requirements
+ *   </blockqoute>
+ * </pre>
+ * <p>Different keys may be checked concurrently. Updates to the same key are
+ * applied atomically, one after another.</p>
+ *
+ * @param <K>  the type of the record key
+ *
+ * @author Bob Carberry
+ */
+final class IncrementalChecker<K> {
+
+  private final CompiledRequirements requirements;
+  private final Function<? super Person, ? extends K> keyOf;
+  // per Field ordinal, a bitmask of the requirements that read the field
+  private final long[] readers;
+  private final ConcurrentMap<K, Entry> cache = new ConcurrentHashMap<K, Entry>();
+  private final LongAdder evaluations = new LongAdder();
+
+  /**
+   * @param requirements  the requirements to check records against
+   * @param keyOf         extracts the key that identifies a record across versions
+   */
+  IncrementalChecker(CompiledRequirements requirements, Function<? super Person, ? extends K> keyOf) {
+    this.requirements = requirements;
+    this.keyOf = keyOf;
+    this.readers = new long[Rule.Field.values().length];
+    for (int i = 0; i < requirements.size(); i++) {
+      int fields = requirements.ruleAt(i).fields();
+      for (Rule.Field field : Rule.Field.values()) {
+        if ((fields & field.bit()) != 0)
+          readers[field.ordinal()] |= 1L << i;
+      }
+    }
+  }
+
+  /**
+   * <p>Checks person, re-evaluating only the requirements that read a field
+   * which changed since the last version of the record with the same key.</p>
+   * @param person  the current version of a record
+   * @return        the same result as CompiledRequirements.check(person)
+   */
+  Either<List<RequirementNotMet>, Person> check(Person person) {
+    Entry entry = cache.compute(keyOf.apply(person), (key, previous) -> update(previous, person));
+    return requirements.toEither(entry.failures, person);
+  }
+
+  /**
+   * <p>Checks every person in order.</p>
+   * @param people  the records to check
+   * @return        the result of check for each record, in order
+   */
+  EitherArray<List<RequirementNotMet>, Person> checkAll(List<Person> people) {
+    EitherArray.Builder<List<RequirementNotMet>, Person> results = EitherArray.builder(people.size());
+    for (Person person : people)
+      results.add(check(person));
+    return results.build();
+  }
+
+  /**
+   * <p>Drops the cached outcome for key so that the next record with that key
+   * is evaluated in full.</p>
+   * @param key  the key of the record to forget
+   */
+  void forget(K key) {
+    cache.remove(key);
+  }
+
+  /**
+   * @return  the number of record keys currently cached
+   */
+  int size() {
+    return cache.size();
+  }
+
+  /**
+   * @return  the number of individual requirement evaluations performed so far
+   */
+  long evaluations() {
+    return evaluations.sum();
+  }
+
+  private Entry update(Entry previous, Person person) {
+    if (previous == null) {
+      evaluations.add(requirements.size());
+      return new Entry(person, requirements.failures(person));
+    }
+    if (previous.person == person)
+      return previous;
+    int changed = Rule.Field.changes(previous.person, person);
+    long affected = 0L;
+    for (int f = 0; changed != 0; f++, changed >>>= 1) {
+      if ((changed & 1) != 0)
+        affected |= readers[f];
+    }
+    long failures = previous.failures & ~affected;
+    for (long bits = affected; bits != 0L; bits &= bits - 1) {
+      int i = Long.numberOfTrailingZeros(bits);
+      if (!requirements.ruleAt(i).test(person))
+        failures |= 1L << i;
+    }
+    evaluations.add(Long.bitCount(affected));
+    return new Entry(person, failures);
+  }
+
+  /*
+   * The last version of a record and its failure bitmask
+   */
+  private static final class Entry {
+    final Person person;
+    final long failures;
+    Entry(Person person, long failures) {
+      this.person = person;
+      this.failures = failures;
+    }
+  }
+
+}
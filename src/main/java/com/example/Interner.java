@@ -0,0 +1,136 @@
+package com.example;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>A concurrent table of canonical instances, in the style of String.intern().</p>
+ * <p>intern(value) returns the first instance seen that is equal to value, so
+ * that equal values can share one instance and be compared by identity. The
+ * table only holds canonical instances weakly: once nothing else refers to a
+ * canonical instance it is collected and its entry is dropped.</p>
+ * <p>Looking up a value that is already in the table allocates nothing: it
+ * goes through a probe key that each thread reuses, and a weak reference is
+ * only created to insert a value that has not been seen before.</p>
+ *
+ * @param <T>  the type of the interned values, which must have value equality
+ *
+ * @author Bob Carberry
+ */
+final class Interner<T> {
+
+  private static final ThreadLocal<Probe> probes = ThreadLocal.withInitial(Probe::new);
+
+  private final ConcurrentMap<Key, Ref<T>> table = new ConcurrentHashMap<Key, Ref<T>>();
+  private final ReferenceQueue<T> collected = new ReferenceQueue<T>();
+
+  /**
+   * <p>Gets the canonical instance equal to value, making value the canonical
+   * instance if there is none yet.</p>
+   * @param value  a non null value
+   * @return       the canonical instance equal to value
+   */
+  T intern(T value) {
+    expunge();
+    Probe probe = probes.get();
+    Ref<T> found;
+    try {
+      found = table.get(probe.of(value));
+    } finally {
+      // the probe must not keep the value reachable
+      probe.clear();
+    }
+    if (found != null) {
+      T canonical = found.get();
+      if (canonical != null)
+        return canonical;
+    }
+    Ref<T> ref = new Ref<T>(value, collected);
+    while (true) {
+      Ref<T> existing = table.putIfAbsent(ref, ref);
+      if (existing == null)
+        return value;
+      T canonical = existing.get();
+      if (canonical != null)
+        return canonical;
+      // collected but not yet expunged, so replace it
+      table.remove(existing, existing);
+    }
+  }
+
+  /**
+   * @return  the number of canonical instances still in the table
+   */
+  int size() {
+    expunge();
+    return table.size();
+  }
+
+  private void expunge() {
+    Reference<? extends T> ref;
+    while ((ref = collected.poll()) != null)
+      table.remove(ref, ref);
+  }
+
+  /*
+   * A table key, compared by the value it refers to. A key whose value is
+   * gone is only equal to itself.
+   */
+  private interface Key {
+    Object value();
+  }
+
+  private static boolean equal(Key mine, Object o) {
+    if (mine == o) return true;
+    if (!(o instanceof Key)) return false;
+    Object value = mine.value();
+    Object theirs = ((Key) o).value();
+    return value != null && theirs != null && value.equals(theirs);
+  }
+
+  // a weak reference to a canonical instance
+  private static final class Ref<T> extends WeakReference<T> implements Key {
+    private final int hash;
+
+    Ref(T value, ReferenceQueue<T> queue) {
+      super(value, queue);
+      this.hash = value.hashCode();
+    }
+
+    @Override
+    public Object value() { return get(); }
+
+    @Override
+    public boolean equals(Object o) { return equal(this, o); }
+
+    @Override
+    public int hashCode() { return hash; }
+  }
+
+  // a strong, reusable key for looking values up, confined to one thread
+  private static final class Probe implements Key {
+    private Object value;
+    private int hash;
+
+    Probe of(Object value) {
+      this.value = value;
+      this.hash = value.hashCode();
+      return this;
+    }
+
+    void clear() { value = null; }
+
+    @Override
+    public Object value() { return value; }
+
+    @Override
+    public boolean equals(Object o) { return equal(this, o); }
+
+    @Override
+    public int hashCode() { return hash; }
+  }
+
+}
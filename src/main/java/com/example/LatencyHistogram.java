@@ -0,0 +1,135 @@
+package com.example;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>A fixed size, log-linear histogram of non-negative long values such as
+ * latencies in nanoseconds.</p>
+ * <p>Like an HdrHistogram every power of two range is split into 32 linear
+ * sub-buckets, so any recorded value is reported with a relative error of at
+ * most about 3%. Recording is lock-free: it is a single atomic increment of a
+ * bucket plus a few uncontended updates, and never allocates. Snapshots can be
+ * taken at any time from any thread.</p>
+ *
+ * @author Bob Carberry
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  // values below this are counted exactly, one bucket each
+  private static final int LINEAR_LIMIT = SUB_BUCKETS << 1;
+  private static final int BUCKETS = LINEAR_LIMIT + (64 - SUB_BUCKET_BITS - 2) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder total = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * <p>Records a single value. Negative values are recorded as zero.</p>
+   * @param value  the value to record
+   */
+  public void record(long value) {
+    long v = Math.max(value, 0);
+    counts.incrementAndGet(indexOf(v));
+    total.add(v);
+    long m;
+    while (v > (m = max.get()) && !max.compareAndSet(m, v)) { }
+  }
+
+  /**
+   * <p>Copies the current bucket counts. Values recorded concurrently with the
+   * copy may or may not be included.</p>
+   * @return  an immutable Snapshot of this histogram
+   */
+  public Snapshot snapshot() {
+    long[] copy = new long[BUCKETS];
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      copy[i] = counts.get(i);
+      count += copy[i];
+    }
+    return new Snapshot(copy, count, total.sum(), max.get());
+  }
+
+  static int indexOf(long value) {
+    if (value < LINEAR_LIMIT)
+      return (int) value;
+    int shift = (64 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS + 1);
+    int sub = (int) (value >>> shift) - SUB_BUCKETS;
+    return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + sub;
+  }
+
+  // the largest value that is counted in the bucket at index
+  static long highestValueAt(int index) {
+    if (index < LINEAR_LIMIT)
+      return index;
+    int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+    long sub = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+    return ((sub + 1) << shift) - 1;
+  }
+
+  /**
+   * <p>An immutable copy of a LatencyHistogram at a point in time.</p>
+   */
+  public static final class Snapshot {
+    private final long[] counts;
+    private final long count;
+    private final long total;
+    private final long max;
+
+    private Snapshot(long[] counts, long count, long total, long max) {
+      this.counts = counts;
+      this.count = count;
+      this.total = total;
+      this.max = max;
+    }
+
+    /**
+     * @return  the number of recorded values
+     */
+    public long getCount() { return count; }
+
+    /**
+     * @return  the largest recorded value, or 0 if nothing was recorded
+     */
+    public long getMax() { return max; }
+
+    /**
+     * @return  the arithmetic mean of the recorded values, or 0 if nothing was recorded
+     */
+    public double getMean() { return count == 0 ? 0 : (double) total / count; }
+
+    /**
+     * <p>Finds the value below which the given percentage of recorded values fall.
+     * The result is the upper bound of the matching bucket, capped at getMax().</p>
+     * @param percentile  a percentage in the range [0, 100]
+     * @return            the value at the percentile, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+      if (count == 0)
+        return 0;
+      double p = Math.min(Math.max(percentile, 0), 100);
+      long rank = Math.max(1, (long) Math.ceil(p / 100 * count));
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank)
+          return Math.min(highestValueAt(i), max);
+      }
+      return max;
+    }
+
+    @Override
+    public String toString() {
+      return "LatencyHistogram(count=" + count
+          + ", mean=" + Math.round(getMean())
+          + ", p50=" + getValueAtPercentile(50)
+          + ", p99=" + getValueAtPercentile(99)
+          + ", max=" + max + ')';
+    }
+  }
+
+}
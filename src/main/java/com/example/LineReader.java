@@ -0,0 +1,86 @@
+package com.example;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <p>Splits bytes into the non-empty lines of a file of {@link PersonCsv}
+ * records, without decoding anything but the lines themselves.</p>
+ * <p>Bytes are fed in whatever chunks the caller reads or maps, and a line
+ * may span chunks. Lines end at '\n', a '\r' before it is dropped, and lines
+ * that are then empty are skipped. The last line of a file need not end in a
+ * newline; end() completes it. The reader consumes a chunk only up to the end
+ * of the line it returns, so the position of the chunk is then the offset just
+ * past that line, which is what a checkpoint records. E.G.</p>
+ * <pre>
+ *   <blockquote>
+ *     LineReader lines = new LineReader();
+ *     while (lines.next(buffer) || lines.end())
+ *       process(lines.line());
+ *   </blockquote>
+ * </pre>
+ *
+ * @author Bob Carberry
+ */
+final class LineReader {
+
+  private byte[] line = new byte[256];
+  private int length;
+  private boolean complete;
+
+  /**
+   * <p>Consumes bytes up to and including the end of the next non-empty
+   * line.</p>
+   * @param bytes  the next bytes of the input, from their position
+   * @return       true if a line was completed, false if bytes ran out first,
+   *               in which case the partial line is kept for the next call
+   */
+  boolean next(ByteBuffer bytes) {
+    if (complete)
+      clear();
+    while (bytes.hasRemaining()) {
+      byte b = bytes.get();
+      if (b != '\n') {
+        if (length == line.length)
+          line = Arrays.copyOf(line, length * 2);
+        line[length++] = b;
+      } else if (completeLine()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * <p>Completes the last line of the input when it does not end in a
+   * newline.</p>
+   * @return  true if there was such a line, false if the input is exhausted
+   */
+  boolean end() {
+    if (complete)
+      clear();
+    return completeLine();
+  }
+
+  /**
+   * @return  the line completed by the last call to next or end, without its
+   *          line terminator
+   */
+  String line() {
+    return new String(line, 0, length, StandardCharsets.UTF_8);
+  }
+
+  private boolean completeLine() {
+    if (length > 0 && line[length - 1] == '\r')
+      length--;
+    complete = length > 0;
+    return complete;
+  }
+
+  private void clear() {
+    length = 0;
+    complete = false;
+  }
+
+}
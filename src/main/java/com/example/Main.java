@@ -1,13 +1,26 @@
 package com.example;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 public class Main {
 
-  private static final class Person {
+  /**
+   * <p>Read access to the fields of a person, implemented by Person itself and
+   * by flyweights over records that are not held as Person objects, such as
+   * PersonStore.Cursor. Rules read persons only through this interface.</p>
+   */
+  interface PersonFields {
+    String getFirstName();
+    Maybe<String> getMiddleName();
+    String getLastName();
+    int getAge();
+    Gender getGender();
+  }
+
+  static final class Person implements PersonFields {
     private final String firstName;
     private final Maybe<String> middleName;
     private final String lastName;
@@ -42,13 +55,34 @@ public class Main {
     public Gender getGender() {
       return gender;
     }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      Person that = (Person) o;
+      return age == that.age
+          && gender == that.gender
+          && firstName.equals(that.firstName)
+          && lastName.equals(that.lastName)
+          && middleName.equals(that.middleName);
+    }
+
+    @Override
+    public int hashCode() {
+      int hash = firstName.hashCode();
+      hash = hash * 31 + middleName.hashCode();
+      hash = hash * 31 + lastName.hashCode();
+      hash = hash * 31 + age;
+      return hash * 31 + gender.hashCode();
+    }
   }
 
-  private static enum Gender {
+  static enum Gender {
     Male, Female;
   }
 
-  private static final class RequirementNotMet {
+  static final class RequirementNotMet {
     private final String field;
     private final String reason;
 
@@ -65,40 +99,141 @@ public class Main {
       return reason;
     }
 
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      RequirementNotMet that = (RequirementNotMet) o;
+      return field.equals(that.field) && reason.equals(that.reason);
+    }
+
+    @Override
+    public int hashCode() {
+      return field.hashCode() * 31 + reason.hashCode();
+    }
+
     public String toString() {
       return "RequirementNotMet(" + field + ", " + reason + ")";
     }
 
   }
 
-  private static final Function<Person, Maybe<RequirementNotMet>> senior =
+  /**
+   * <p>A named check of a Person. The name identifies the requirement in
+   * metrics and diagnostics.</p>
+   */
+  static final class Requirement implements Function<Person, Maybe<RequirementNotMet>> {
+    private final String name;
+    private final Function<Person, Maybe<RequirementNotMet>> check;
+    private final Metrics.Handle metrics;
+
+    Requirement(String name, Function<Person, Maybe<RequirementNotMet>> check) {
+      this.name = name;
+      this.check = check;
+      this.metrics = new Metrics.Handle("requirement." + name);
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    OutcomeMetrics getMetrics() {
+      return metrics.get();
+    }
+
+    @Override
+    public Maybe<RequirementNotMet> apply(Person person) {
+      return check.apply(person);
+    }
+
+    public String toString() {
+      return "Requirement(" + name + ")";
+    }
+  }
+
+  private static final Requirement senior = new Requirement("senior",
     (person) -> {
       if (person.getAge() < 65) {
         return Maybe.apply(new RequirementNotMet("age", "less than 65"));
       } else {
         return Maybe.nothing();
       }
-    };
+    });
 
-  private static final Function<Person, Maybe<RequirementNotMet>> female =
+  private static final Requirement female = new Requirement("female",
     (person) -> {
       if (person.getGender() == Gender.Male) {
         return Maybe.apply(new RequirementNotMet("gender", "is male"));
       } else {
         return Maybe.nothing();
       }
-    };
+    });
+
+  /*
+   * The senior and female requirements expressed as rules and compiled into
+   * a single evaluator
+   */
+  static final CompiledRequirements seniorFemale = CompiledRequirements.builder()
+    .require("senior", Rule.age().atLeast(65), "age", "less than 65")
+    .require("female", Rule.gender().is(Gender.Female), "gender", "is male")
+    .build();
+
+  private static final Metrics.Handle unnamedMetrics = new Metrics.Handle("requirement.unnamed");
 
-  private static Either<List<RequirementNotMet>, Person> check(
-		  List<Function<Person, Maybe<RequirementNotMet>>> requirements,
+  static String nameOf(Function<Person, Maybe<RequirementNotMet>> requirement) {
+    if (requirement instanceof Requirement)
+      return ((Requirement) requirement).getName();
+    else
+      return "unnamed";
+  }
+
+  /*
+   * Applies a single requirement. When metrics are enabled the outcome and
+   * latency are recorded under "requirement.<name>", an unmet requirement
+   * counting as a Left. When a flight recording is running a
+   * RequirementEvent is emitted, subject to the recording's own settings.
+   */
+  private static Maybe<RequirementNotMet> evaluate(
+		  Function<Person, Maybe<RequirementNotMet>> requirement,
 		  Person person) {
+    RequirementEvent event = new RequirementEvent();
+    boolean metrics = Metrics.isEnabled();
+    if (!metrics && !event.isEnabled()) {
+      return requirement.apply(person);
+    }
+    long start = System.nanoTime();
+    event.begin();
+    Maybe<RequirementNotMet> result = requirement.apply(person);
+    event.end();
+    boolean unmet = result instanceof Maybe.Just;
+    if (metrics) {
+      OutcomeMetrics outcomes = requirement instanceof Requirement
+	      ? ((Requirement) requirement).getMetrics() : unnamedMetrics.get();
+      outcomes.record(unmet, System.nanoTime() - start);
+    }
+    if (event.shouldCommit()) {
+      event.requirement = nameOf(requirement);
+      event.passed = !unmet;
+      if (unmet) {
+        event.field = result.get().getField();
+        event.reason = result.get().getReason();
+      }
+      event.commit();
+    }
+    return result;
+  }
 
-    List<RequirementNotMet> unmetRequirements = requirements.stream()
-	    .map(requirement -> requirement.apply(person))
-	    .filter(maybe -> Maybe.nothing().equals(maybe))
-	    .map(maybe -> maybe.get())
-	    .collect(Collectors.toList());
+  static Either<List<RequirementNotMet>, Person> check(
+		  List<? extends Function<Person, Maybe<RequirementNotMet>>> requirements,
+		  Person person) {
 
+    List<RequirementNotMet> unmetRequirements = new ArrayList<RequirementNotMet>();
+    for (Function<Person, Maybe<RequirementNotMet>> requirement : requirements) {
+      Maybe<RequirementNotMet> result = evaluate(requirement, person);
+      if (result instanceof Maybe.Just) {
+        unmetRequirements.add(result.get());
+      }
+    }
 
     if (unmetRequirements.isEmpty()) {
       return Either.right(person).value();
@@ -107,9 +242,32 @@ public class Main {
     }
   }
 
+  /**
+   * <p>Checks every person in order, emitting a ValidationBatchEvent that
+   * spans the whole batch when a flight recording is running.</p>
+   */
+  static EitherArray<List<RequirementNotMet>, Person> checkAll(
+		  List<? extends Function<Person, Maybe<RequirementNotMet>>> requirements,
+		  List<Person> people) {
+    ValidationBatchEvent event = new ValidationBatchEvent();
+    event.begin();
+    EitherArray.Builder<List<RequirementNotMet>, Person> results = EitherArray.builder();
+    for (Person person : people) {
+      results.add(check(requirements, person));
+    }
+    EitherArray<List<RequirementNotMet>, Person> checked = results.build();
+    event.end();
+    if (event.shouldCommit()) {
+      event.records = checked.size();
+      event.requirements = requirements.size();
+      event.failed = checked.countLefts();
+      event.commit();
+    }
+    return checked;
+  }
+
   public static void main(String[] args) throws Exception {
-    List<Function<Person, Maybe<RequirementNotMet>>> requirements =
-      Arrays.asList(senior, female);
+    List<Requirement> requirements = Arrays.asList(senior, female);
 
     Person oldLady = new Person("Mary", Maybe.nothing(), "Murphy",
 		                66, Gender.Female);
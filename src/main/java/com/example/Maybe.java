@@ -1,6 +1,7 @@
 package com.example;
 
 import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -134,6 +135,290 @@ public abstract class Maybe<A> {
       return Either.left(leftValue.get()).value();
   }
 
+  /**
+   * <p>Combines this Maybe&lt;A&gt; with another Maybe using f if both are
+   * Just, otherwise returns Nothing. The same as Maybe.map2(this, other, f).</p>
+   * @param other  the Maybe to combine with this one
+   * @param f      the function to apply to both values
+   * @param <B>    the type of the value of other
+   * @param <C>    the type of the result of f
+   * @return       Just the result of f or Nothing
+   */
+  public <B, C> Maybe<C> zip(Maybe<? extends B> other, BiFunction<? super A, ? super B, ? extends C> f) {
+    return map2(this, other, f);
+  }
+
+  /**
+   * <p>Applies f to the values of two Maybes if both are Just, otherwise
+   * returns Nothing without calling f. Only the resulting Just is
+   * allocated, unlike the equivalent nested flatMap and map. E.G.</p>
+   * <pre>
+   *   <blockqoute>
+   *     Maybe&lt;String&gt; fullName = Maybe.map2(first, last, (x, y) -&gt; x + ' ' + y);
+   *   </blockqoute>
+   * </pre>
+   * @param ma   a Maybe&lt;A&gt;
+   * @param mb   a Maybe&lt;B&gt;
+   * @param f    the function to apply to the values
+   * @param <A>  the type of the value of ma
+   * @param <B>  the type of the value of mb
+   * @param <R>  the type of the result of f
+   * @return     Just the result of f or Nothing
+   */
+  public static <A, B, R> Maybe<R> map2(Maybe<? extends A> ma, Maybe<? extends B> mb,
+      BiFunction<? super A, ? super B, ? extends R> f) {
+    if (ma instanceof Just && mb instanceof Just)
+      return just(f.apply(
+          ((Just<? extends A>) ma).value,
+          ((Just<? extends B>) mb).value));
+    else
+      return nothing();
+  }
+
+  /**
+   * <p>Applies f to the values of three Maybes if all are Just, otherwise
+   * returns Nothing without calling f.</p>
+   * @param ma   a Maybe&lt;A&gt;
+   * @param mb   a Maybe&lt;B&gt;
+   * @param mc   a Maybe&lt;C&gt;
+   * @param f    the function to apply to the values
+   * @param <A>  the type of the value of ma
+   * @param <B>  the type of the value of mb
+   * @param <C>  the type of the value of mc
+   * @param <R>  the type of the result of f
+   * @return     Just the result of f or Nothing
+   */
+  public static <A, B, C, R> Maybe<R> map3(Maybe<? extends A> ma, Maybe<? extends B> mb, Maybe<? extends C> mc,
+      Function3<? super A, ? super B, ? super C, ? extends R> f) {
+    if (ma instanceof Just && mb instanceof Just && mc instanceof Just)
+      return just(f.apply(
+          ((Just<? extends A>) ma).value,
+          ((Just<? extends B>) mb).value,
+          ((Just<? extends C>) mc).value));
+    else
+      return nothing();
+  }
+
+  /**
+   * <p>Applies f to the values of four Maybes if all are Just, otherwise
+   * returns Nothing without calling f.</p>
+   * @param ma   a Maybe&lt;A&gt;
+   * @param mb   a Maybe&lt;B&gt;
+   * @param mc   a Maybe&lt;C&gt;
+   * @param md   a Maybe&lt;D&gt;
+   * @param f    the function to apply to the values
+   * @param <A>  the type of the value of ma
+   * @param <B>  the type of the value of mb
+   * @param <C>  the type of the value of mc
+   * @param <D>  the type of the value of md
+   * @param <R>  the type of the result of f
+   * @return     Just the result of f or Nothing
+   */
+  public static <A, B, C, D, R> Maybe<R> map4(
+      Maybe<? extends A> ma,
+      Maybe<? extends B> mb,
+      Maybe<? extends C> mc,
+      Maybe<? extends D> md,
+      Function4<? super A, ? super B, ? super C, ? super D, ? extends R> f) {
+    if (ma instanceof Just
+        && mb instanceof Just
+        && mc instanceof Just
+        && md instanceof Just)
+      return just(f.apply(
+          ((Just<? extends A>) ma).value,
+          ((Just<? extends B>) mb).value,
+          ((Just<? extends C>) mc).value,
+          ((Just<? extends D>) md).value));
+    else
+      return nothing();
+  }
+
+  /**
+   * <p>Applies f to the values of five Maybes if all are Just, otherwise
+   * returns Nothing without calling f.</p>
+   * @param ma   a Maybe&lt;A&gt;
+   * @param mb   a Maybe&lt;B&gt;
+   * @param mc   a Maybe&lt;C&gt;
+   * @param md   a Maybe&lt;D&gt;
+   * @param me   a Maybe&lt;E&gt;
+   * @param f    the function to apply to the values
+   * @param <A>  the type of the value of ma
+   * @param <B>  the type of the value of mb
+   * @param <C>  the type of the value of mc
+   * @param <D>  the type of the value of md
+   * @param <E>  the type of the value of me
+   * @param <R>  the type of the result of f
+   * @return     Just the result of f or Nothing
+   */
+  public static <A, B, C, D, E, R> Maybe<R> map5(
+      Maybe<? extends A> ma,
+      Maybe<? extends B> mb,
+      Maybe<? extends C> mc,
+      Maybe<? extends D> md,
+      Maybe<? extends E> me,
+      Function5<? super A, ? super B, ? super C, ? super D, ? super E, ? extends R> f) {
+    if (ma instanceof Just
+        && mb instanceof Just
+        && mc instanceof Just
+        && md instanceof Just
+        && me instanceof Just)
+      return just(f.apply(
+          ((Just<? extends A>) ma).value,
+          ((Just<? extends B>) mb).value,
+          ((Just<? extends C>) mc).value,
+          ((Just<? extends D>) md).value,
+          ((Just<? extends E>) me).value));
+    else
+      return nothing();
+  }
+
+  /**
+   * <p>Applies f to the values of six Maybes if all are Just, otherwise
+   * returns Nothing without calling f.</p>
+   * @param ma   a Maybe&lt;A&gt;
+   * @param mb   a Maybe&lt;B&gt;
+   * @param mc   a Maybe&lt;C&gt;
+   * @param md   a Maybe&lt;D&gt;
+   * @param me   a Maybe&lt;E&gt;
+   * @param mf   a Maybe&lt;F&gt;
+   * @param f    the function to apply to the values
+   * @param <A>  the type of the value of ma
+   * @param <B>  the type of the value of mb
+   * @param <C>  the type of the value of mc
+   * @param <D>  the type of the value of md
+   * @param <E>  the type of the value of me
+   * @param <F>  the type of the value of mf
+   * @param <R>  the type of the result of f
+   * @return     Just the result of f or Nothing
+   */
+  public static <A, B, C, D, E, F, R> Maybe<R> map6(
+      Maybe<? extends A> ma,
+      Maybe<? extends B> mb,
+      Maybe<? extends C> mc,
+      Maybe<? extends D> md,
+      Maybe<? extends E> me,
+      Maybe<? extends F> mf,
+      Function6<? super A, ? super B, ? super C, ? super D, ? super E, ? super F, ? extends R> f) {
+    if (ma instanceof Just
+        && mb instanceof Just
+        && mc instanceof Just
+        && md instanceof Just
+        && me instanceof Just
+        && mf instanceof Just)
+      return just(f.apply(
+          ((Just<? extends A>) ma).value,
+          ((Just<? extends B>) mb).value,
+          ((Just<? extends C>) mc).value,
+          ((Just<? extends D>) md).value,
+          ((Just<? extends E>) me).value,
+          ((Just<? extends F>) mf).value));
+    else
+      return nothing();
+  }
+
+  /**
+   * <p>Applies f to the values of seven Maybes if all are Just, otherwise
+   * returns Nothing without calling f.</p>
+   * @param ma   a Maybe&lt;A&gt;
+   * @param mb   a Maybe&lt;B&gt;
+   * @param mc   a Maybe&lt;C&gt;
+   * @param md   a Maybe&lt;D&gt;
+   * @param me   a Maybe&lt;E&gt;
+   * @param mf   a Maybe&lt;F&gt;
+   * @param mg   a Maybe&lt;G&gt;
+   * @param f    the function to apply to the values
+   * @param <A>  the type of the value of ma
+   * @param <B>  the type of the value of mb
+   * @param <C>  the type of the value of mc
+   * @param <D>  the type of the value of md
+   * @param <E>  the type of the value of me
+   * @param <F>  the type of the value of mf
+   * @param <G>  the type of the value of mg
+   * @param <R>  the type of the result of f
+   * @return     Just the result of f or Nothing
+   */
+  public static <A, B, C, D, E, F, G, R> Maybe<R> map7(
+      Maybe<? extends A> ma,
+      Maybe<? extends B> mb,
+      Maybe<? extends C> mc,
+      Maybe<? extends D> md,
+      Maybe<? extends E> me,
+      Maybe<? extends F> mf,
+      Maybe<? extends G> mg,
+      Function7<? super A, ? super B, ? super C, ? super D, ? super E, ? super F, ? super G, ? extends R> f) {
+    if (ma instanceof Just
+        && mb instanceof Just
+        && mc instanceof Just
+        && md instanceof Just
+        && me instanceof Just
+        && mf instanceof Just
+        && mg instanceof Just)
+      return just(f.apply(
+          ((Just<? extends A>) ma).value,
+          ((Just<? extends B>) mb).value,
+          ((Just<? extends C>) mc).value,
+          ((Just<? extends D>) md).value,
+          ((Just<? extends E>) me).value,
+          ((Just<? extends F>) mf).value,
+          ((Just<? extends G>) mg).value));
+    else
+      return nothing();
+  }
+
+  /**
+   * <p>Applies f to the values of eight Maybes if all are Just, otherwise
+   * returns Nothing without calling f.</p>
+   * @param ma   a Maybe&lt;A&gt;
+   * @param mb   a Maybe&lt;B&gt;
+   * @param mc   a Maybe&lt;C&gt;
+   * @param md   a Maybe&lt;D&gt;
+   * @param me   a Maybe&lt;E&gt;
+   * @param mf   a Maybe&lt;F&gt;
+   * @param mg   a Maybe&lt;G&gt;
+   * @param mh   a Maybe&lt;H&gt;
+   * @param f    the function to apply to the values
+   * @param <A>  the type of the value of ma
+   * @param <B>  the type of the value of mb
+   * @param <C>  the type of the value of mc
+   * @param <D>  the type of the value of md
+   * @param <E>  the type of the value of me
+   * @param <F>  the type of the value of mf
+   * @param <G>  the type of the value of mg
+   * @param <H>  the type of the value of mh
+   * @param <R>  the type of the result of f
+   * @return     Just the result of f or Nothing
+   */
+  public static <A, B, C, D, E, F, G, H, R> Maybe<R> map8(
+      Maybe<? extends A> ma,
+      Maybe<? extends B> mb,
+      Maybe<? extends C> mc,
+      Maybe<? extends D> md,
+      Maybe<? extends E> me,
+      Maybe<? extends F> mf,
+      Maybe<? extends G> mg,
+      Maybe<? extends H> mh,
+      Function8<? super A, ? super B, ? super C, ? super D, ? super E, ? super F, ? super G, ? super H, ? extends R> f) {
+    if (ma instanceof Just
+        && mb instanceof Just
+        && mc instanceof Just
+        && md instanceof Just
+        && me instanceof Just
+        && mf instanceof Just
+        && mg instanceof Just
+        && mh instanceof Just)
+      return just(f.apply(
+          ((Just<? extends A>) ma).value,
+          ((Just<? extends B>) mb).value,
+          ((Just<? extends C>) mc).value,
+          ((Just<? extends D>) md).value,
+          ((Just<? extends E>) me).value,
+          ((Just<? extends F>) mf).value,
+          ((Just<? extends G>) mg).value,
+          ((Just<? extends H>) mh).value));
+    else
+      return nothing();
+  }
+
   /**
    * <p>A concrete implementation of Maybe for values that exist and
    * contain a value of type A</p>
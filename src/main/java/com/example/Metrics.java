@@ -0,0 +1,151 @@
+package com.example;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * <p>An opt-in registry of {@link OutcomeMetrics}.</p>
+ * <p>Metrics are disabled by default and can be switched on with the
+ * <code>functional-java.metrics</code> system property or by calling enable().
+ * While disabled, instrumented code does nothing but read a single volatile
+ * flag. E.G.</p>
+ * <pre>
+ *   <blockqoute>
+ *     Metrics.enable();
+ *     Function&lt;String, Either&lt;String, Integer&gt;&gt; parse =
+ *         Metrics.instrument("parse", parseInt);
+ *     parse.apply("12");
+ *     Metrics.snapshot().get("parse").getRights(); // == 1
+ *   </blockqoute>
+ * </pre>
+ *
+ * @author Bob Carberry
+ */
+public final class Metrics {
+
+  private static volatile boolean enabled = Boolean.getBoolean("functional-java.metrics");
+
+  private static final ConcurrentMap<String, OutcomeMetrics> registry =
+      new ConcurrentHashMap<String, OutcomeMetrics>();
+
+  // bumped by every reset, after the registry is cleared
+  private static volatile int generation;
+
+  private Metrics() {}
+
+  /**
+   * @return  true if metrics are currently being recorded
+   */
+  public static boolean isEnabled() { return enabled; }
+
+  /**
+   * <p>Starts recording metrics.</p>
+   */
+  public static void enable() { enabled = true; }
+
+  /**
+   * <p>Stops recording metrics. Values recorded so far are kept.</p>
+   */
+  public static void disable() { enabled = false; }
+
+  /**
+   * <p>Forgets every registered OutcomeMetrics.</p>
+   */
+  public static synchronized void reset() {
+    registry.clear();
+    generation++;
+  }
+
+  /**
+   * <p>Gets the OutcomeMetrics registered under name, registering it first if
+   * needed.</p>
+   * @param name  the name of the metrics
+   * @return      the OutcomeMetrics registered under name
+   */
+  public static OutcomeMetrics forName(String name) {
+    OutcomeMetrics metrics = registry.get(name);
+    if (metrics != null)
+      return metrics;
+    return registry.computeIfAbsent(name, OutcomeMetrics::new);
+  }
+
+  /**
+   * <p>Wraps a function that produces an Either so that, while metrics are
+   * enabled, every call records its outcome and latency under name.</p>
+   * @param name  the name to record the outcomes under
+   * @param f     the function to instrument
+   * @param <T>   the argument type of f
+   * @param <L>   the left type of the Either returned by f
+   * @param <R>   the right type of the Either returned by f
+   * @return      a function that behaves exactly like f
+   */
+  public static <T, L, R> Function<T, Either<L, R>> instrument(
+      String name, Function<? super T, ? extends Either<L, R>> f) {
+    Handle metrics = new Handle(name);
+    return (t) -> {
+      if (!enabled)
+        return f.apply(t);
+      long start = System.nanoTime();
+      Either<L, R> outcome = f.apply(t);
+      metrics.get().record(outcome, System.nanoTime() - start);
+      return outcome;
+    };
+  }
+
+  /**
+   * @return  a sorted, immutable view of a snapshot of every registered metric
+   */
+  public static SortedMap<String, OutcomeMetrics.Snapshot> snapshot() {
+    SortedMap<String, OutcomeMetrics.Snapshot> snapshots = new TreeMap<String, OutcomeMetrics.Snapshot>();
+    for (Map.Entry<String, OutcomeMetrics> entry : registry.entrySet())
+      snapshots.put(entry.getKey(), entry.getValue().snapshot());
+    return Collections.unmodifiableSortedMap(snapshots);
+  }
+
+  /**
+   * <p>A name bound to the OutcomeMetrics registered under it. The metrics
+   * are looked up on first use and reused until the registry is reset, so
+   * code that records often pays for the lookup once rather than per
+   * call.</p>
+   */
+  static final class Handle {
+    private final String name;
+    // immutable, so it can be published through a plain field
+    private Registration registration;
+
+    /**
+     * @param name  the name of the metrics
+     */
+    Handle(String name) { this.name = name; }
+
+    /**
+     * @return  the OutcomeMetrics currently registered under the name
+     */
+    OutcomeMetrics get() {
+      Registration current = registration;
+      // the generation is read before the lookup, so a reset racing with it
+      // leaves this registration stale rather than pinning forgotten metrics
+      int now = generation;
+      if (current == null || current.generation != now) {
+        current = new Registration(forName(name), now);
+        registration = current;
+      }
+      return current.metrics;
+    }
+  }
+
+  private static final class Registration {
+    final OutcomeMetrics metrics;
+    final int generation;
+    Registration(OutcomeMetrics metrics, int generation) {
+      this.metrics = metrics;
+      this.generation = generation;
+    }
+  }
+
+}
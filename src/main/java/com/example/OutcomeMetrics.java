@@ -0,0 +1,91 @@
+package com.example;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Counts the Left and Right outcomes of an Either producing computation
+ * and records how long each one took.</p>
+ * <p>All recording methods are lock-free and safe to call from many threads.
+ * Instances are normally obtained from {@link Metrics#forName(String)}.</p>
+ *
+ * @author Bob Carberry
+ */
+public final class OutcomeMetrics {
+
+  private final String name;
+  private final LongAdder lefts = new LongAdder();
+  private final LongAdder rights = new LongAdder();
+  private final LatencyHistogram latency = new LatencyHistogram();
+
+  OutcomeMetrics(String name) {
+    this.name = name;
+  }
+
+  /**
+   * @return  the name these metrics are registered under
+   */
+  public String getName() { return name; }
+
+  /**
+   * <p>Records an outcome of the given type and its duration.</p>
+   * @param left   true if the outcome was a Left
+   * @param nanos  how long the computation took in nanoseconds
+   */
+  public void record(boolean left, long nanos) {
+    if (left)
+      lefts.increment();
+    else
+      rights.increment();
+    latency.record(nanos);
+  }
+
+  /**
+   * <p>Records the outcome of an Either and its duration.</p>
+   * @param outcome  the Either that was produced
+   * @param nanos    how long the computation took in nanoseconds
+   */
+  public void record(Either<?, ?> outcome, long nanos) {
+    record(outcome instanceof Either.Left, nanos);
+  }
+
+  /**
+   * @return  an immutable Snapshot of the counts and latencies recorded so far
+   */
+  public Snapshot snapshot() {
+    return new Snapshot(name, lefts.sum(), rights.sum(), latency.snapshot());
+  }
+
+  /**
+   * <p>An immutable copy of an OutcomeMetrics at a point in time.</p>
+   */
+  public static final class Snapshot {
+    private final String name;
+    private final long lefts;
+    private final long rights;
+    private final LatencyHistogram.Snapshot latency;
+
+    private Snapshot(String name, long lefts, long rights, LatencyHistogram.Snapshot latency) {
+      this.name = name;
+      this.lefts = lefts;
+      this.rights = rights;
+      this.latency = latency;
+    }
+
+    public String getName() { return name; }
+
+    public long getLefts() { return lefts; }
+
+    public long getRights() { return rights; }
+
+    /**
+     * @return  the distribution of recorded durations in nanoseconds
+     */
+    public LatencyHistogram.Snapshot getLatency() { return latency; }
+
+    @Override
+    public String toString() {
+      return "OutcomeMetrics(" + name + ", lefts=" + lefts + ", rights=" + rights + ", " + latency + ')';
+    }
+  }
+
+}
@@ -0,0 +1,215 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * <p>Traverses large lists in parallel: applies a function returning an
+ * Either or a Maybe to every element and returns either all of the results
+ * or the first failure.</p>
+ * <p>The list is split into chunks that run on a ForkJoinPool. Results are
+ * written straight into a presized array at the index of their element, so
+ * they come back in list order. The lowest index that has failed so far is
+ * kept in a single compare-and-set holder. A chunk that has not started, or
+ * the rest of one that has, is skipped as soon as a failure at a lower index
+ * is known. Elements before a failure are never skipped, so the failure
+ * reported is always that of the lowest failing index, whatever the
+ * scheduling. E.G.</p>
+ * <pre>
+ *   <blockqoute>
+ *     Either&lt;String,List&lt;Integer&gt;&gt; ages = ParallelTraverse.either(lines, line -&gt; parseAge(line));
+ *     Maybe&lt;List&lt;Person&gt;&gt; people = ParallelTraverse.maybe(ids, id -&gt; lookup(id));
+ *   </blockqoute>
+ * </pre>
+ * <p>f may still be applied to some elements after the first failure, on
+ * chunks that were already running, so it should be free of side effects.</p>
+ *
+ * @author Bob Carberry
+ */
+public final class ParallelTraverse {
+
+  /** Chunks are never split below this many elements. */
+  static final int MIN_GRAIN = 256;
+
+  private static final Failure NO_FAILURE = new Failure(Integer.MAX_VALUE, null);
+
+  private ParallelTraverse() {}
+
+  /**
+   * <p>Applies f to every element on the common pool.</p>
+   * @param items  the elements to traverse
+   * @param f      a function that maps an element to an Either
+   * @param <A>    the type of the elements
+   * @param <E>    the left type
+   * @param <B>    the right type
+   * @return       every right value, in list order, as a Right, or the Left
+   *               f returned for the lowest failing index
+   */
+  public static <A, E, B> Either<E, List<B>> either(
+      List<? extends A> items, Function<? super A, ? extends Either<? extends E, ? extends B>> f) {
+    return either(items, f, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * <p>Applies f to every element on the given pool.</p>
+   * @param items  the elements to traverse
+   * @param f      a function that maps an element to an Either
+   * @param pool   the pool to run the chunks on
+   * @param <A>    the type of the elements
+   * @param <E>    the left type
+   * @param <B>    the right type
+   * @return       every right value, in list order, as a Right, or the Left
+   *               f returned for the lowest failing index
+   */
+  @SuppressWarnings("unchecked")
+  public static <A, E, B> Either<E, List<B>> either(
+      List<? extends A> items, Function<? super A, ? extends Either<? extends E, ? extends B>> f,
+      ForkJoinPool pool) {
+    Traversal traversal = run(items, f, pool);
+    if (traversal.earliest.get() != NO_FAILURE)
+      return (Either<E, List<B>>) traversal.earliest.get().result;
+    return Either.right(traversal.<B>results()).value();
+  }
+
+  /**
+   * <p>Applies f to every element on the common pool.</p>
+   * @param items  the elements to traverse
+   * @param f      a function that maps an element to a Maybe
+   * @param <A>    the type of the elements
+   * @param <B>    the type of the values
+   * @return       every value, in list order, as a Just, or Nothing if f
+   *               returned Nothing for any element
+   */
+  public static <A, B> Maybe<List<B>> maybe(
+      List<? extends A> items, Function<? super A, ? extends Maybe<? extends B>> f) {
+    return maybe(items, f, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * <p>Applies f to every element on the given pool.</p>
+   * @param items  the elements to traverse
+   * @param f      a function that maps an element to a Maybe
+   * @param pool   the pool to run the chunks on
+   * @param <A>    the type of the elements
+   * @param <B>    the type of the values
+   * @return       every value, in list order, as a Just, or Nothing if f
+   *               returned Nothing for any element
+   */
+  public static <A, B> Maybe<List<B>> maybe(
+      List<? extends A> items, Function<? super A, ? extends Maybe<? extends B>> f, ForkJoinPool pool) {
+    Traversal traversal = run(items, f, pool);
+    if (traversal.earliest.get() != NO_FAILURE)
+      return Maybe.nothing();
+    return Maybe.apply(traversal.<B>results());
+  }
+
+  private static <A> Traversal run(List<? extends A> items, Function<? super A, ?> f, ForkJoinPool pool) {
+    List<? extends A> elements = items instanceof RandomAccess ? items : new ArrayList<A>(items);
+    Traversal traversal = new Traversal(elements, f);
+    int n = elements.size();
+    int grain = Math.max(MIN_GRAIN, n / (pool.getParallelism() * 4));
+    Chunk chunk = new Chunk(traversal, 0, n, grain);
+    if (n <= grain)
+      chunk.compute();
+    else
+      pool.invoke(chunk);
+    return traversal;
+  }
+
+  /*
+   * The lowest failing index found so far, with what f returned there. Only
+   * ever replaced by a Failure at a lower index.
+   */
+  private static final class Failure {
+    final int index;
+    final Object result;
+    Failure(int index, Object result) {
+      this.index = index;
+      this.result = result;
+    }
+  }
+
+  // the state shared by every chunk of one traversal
+  private static final class Traversal {
+    final List<?> items;
+    @SuppressWarnings("rawtypes")
+    final Function f;
+    final Object[] results;
+    final AtomicReference<Failure> earliest = new AtomicReference<Failure>(NO_FAILURE);
+
+    Traversal(List<?> items, Function<?, ?> f) {
+      this.items = items;
+      this.f = f;
+      this.results = new Object[items.size()];
+    }
+
+    void fail(int index, Object result) {
+      Failure current;
+      Failure failure = null;
+      do {
+        current = earliest.get();
+        if (current.index <= index)
+          return;
+        if (failure == null)
+          failure = new Failure(index, result);
+      } while (!earliest.compareAndSet(current, failure));
+    }
+
+    @SuppressWarnings("unchecked")
+    <B> List<B> results() {
+      return Collections.unmodifiableList((List<B>) Arrays.asList(results));
+    }
+  }
+
+  private static final class Chunk extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final Traversal traversal;
+    private final int from;
+    private final int to;
+    private final int grain;
+
+    Chunk(Traversal traversal, int from, int to, int grain) {
+      this.traversal = traversal;
+      this.from = from;
+      this.to = to;
+      this.grain = grain;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void compute() {
+      if (traversal.earliest.get().index < from)
+        return;
+      if (to - from > grain) {
+        int middle = (from + to) >>> 1;
+        invokeAll(new Chunk(traversal, from, middle, grain), new Chunk(traversal, middle, to, grain));
+        return;
+      }
+      Object[] results = traversal.results;
+      for (int i = from; i < to; i++) {
+        if (traversal.earliest.get().index < i)
+          return;
+        Object result = traversal.f.apply(traversal.items.get(i));
+        if (result instanceof Either.Right)
+          results[i] = ((Either.Right<?>) result).value;
+        else if (result instanceof Maybe.Just)
+          results[i] = ((Maybe.Just<?>) result).value;
+        else if (result == null)
+          throw new NullPointerException("f returned null for index " + i);
+        else {
+          traversal.fail(i, result);
+          return;
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,83 @@
+package com.example;
+
+import com.example.Main.Person;
+
+import java.util.List;
+
+/**
+ * <p>A batch of Person records laid out column-wise: every field of every
+ * record is held in a primitive or reference array of its own, so that a
+ * {@link Rule} can be evaluated as one tight loop over a single column.</p>
+ * <p>Bitmaps produced over a PersonColumns hold one bit per record, record i
+ * being bit (i % 64) of word (i / 64). Bits past the last record are always
+ * clear.</p>
+ *
+ * @author Bob Carberry
+ */
+final class PersonColumns {
+
+  final int size;
+  final String[] firstNames;
+  // one bit per record, set when the middle name is present
+  final long[] middleNamePresent;
+  final String[] lastNames;
+  final int[] ages;
+  // Gender.ordinal() of each record
+  final byte[] genders;
+  // the original records, used to build Right values
+  final Person[] rows;
+
+  private PersonColumns(Person[] rows) {
+    int n = rows.length;
+    this.size = n;
+    this.rows = rows;
+    this.firstNames = new String[n];
+    this.middleNamePresent = new long[words(n)];
+    this.lastNames = new String[n];
+    this.ages = new int[n];
+    this.genders = new byte[n];
+    for (int i = 0; i < n; i++) {
+      Person person = rows[i];
+      firstNames[i] = person.getFirstName();
+      if (person.getMiddleName() instanceof Maybe.Just)
+        middleNamePresent[i >>> 6] |= 1L << i;
+      lastNames[i] = person.getLastName();
+      ages[i] = person.getAge();
+      genders[i] = (byte) person.getGender().ordinal();
+    }
+  }
+
+  /**
+   * <p>Copies the fields of every person into columns.</p>
+   * @param people  the records, in order
+   * @return        a PersonColumns holding the same records
+   */
+  static PersonColumns of(List<Person> people) {
+    return new PersonColumns(people.toArray(new Person[0]));
+  }
+
+  /**
+   * @return  the number of records
+   */
+  int size() { return size; }
+
+  /**
+   * @return  a new, clear bitmap with one bit per record
+   */
+  long[] newBitmap() { return new long[words(size)]; }
+
+  /**
+   * <p>Clears any bits of bitmap that lie past the last record.</p>
+   * @param bitmap  a bitmap sized for this batch
+   */
+  void trim(long[] bitmap) {
+    int tail = size & 63;
+    if (tail != 0)
+      bitmap[bitmap.length - 1] &= (1L << tail) - 1;
+  }
+
+  static int words(int n) {
+    return (n + 63) >>> 6;
+  }
+
+}
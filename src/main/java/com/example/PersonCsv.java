@@ -0,0 +1,89 @@
+package com.example;
+
+import com.example.Main.Gender;
+import com.example.Main.Person;
+
+/**
+ * <p>Reads and writes Person records as lines of comma separated values:</p>
+ * <pre>
+ *   firstName,middleName,lastName,age,gender
+ *   Mary,,Murphy,66,Female
+ *   Tom,Dick,Harry,18,Male
+ * </pre>
+ * <p>An empty middle name is read as Nothing. Names may not contain commas.</p>
+ *
+ * @author Bob Carberry
+ */
+final class PersonCsv {
+
+  private static final Gender[] GENDERS = Gender.values();
+
+  private PersonCsv() {}
+
+  /**
+   * <p>Parses line with the same rules as tryParse.</p>
+   * @param line  a single line without its line terminator
+   * @return      the Person described by line
+   * @throws      IllegalArgumentException if line is not a valid record
+   */
+  static Person parse(String line) {
+    Try<Person> person = tryParse(line);
+    if (person.isFailure())
+      throw new IllegalArgumentException(person.getException().getMessage());
+    return person.get();
+  }
+
+  /**
+   * <p>Parses line, returning an invalid record as a Failure without creating
+   * any exception with a stack trace, which keeps inputs with many bad records
+   * cheap to read. The age must be at most 9 plain decimal digits, so it is
+   * never negative.</p>
+   * @param line  a single line without its line terminator
+   * @return      the Person described by line as a Success, or a Failure
+   *              describing why line is not a valid record
+   */
+  static Try<Person> tryParse(String line) {
+    String[] fields = line.split(",", -1);
+    if (fields.length != 5)
+      return Try.failure("expected 5 fields: " + line);
+    int age = parseAge(fields[3]);
+    if (age < 0)
+      return Try.failure("invalid age: " + line);
+    Gender gender = null;
+    for (Gender g : GENDERS) {
+      if (g.name().equals(fields[4]))
+        gender = g;
+    }
+    if (gender == null)
+      return Try.failure("invalid gender: " + line);
+    Maybe<String> middleName = fields[1].isEmpty() ? Maybe.<String>nothing() : Maybe.apply(fields[1]);
+    return Try.success(new Person(fields[0], middleName, fields[2], age, gender));
+  }
+
+  // the value of up to 9 decimal digits, or -1 if text is anything else
+  private static int parseAge(String text) {
+    if (text.isEmpty() || text.length() > 9)
+      return -1;
+    int age = 0;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c < '0' || c > '9')
+        return -1;
+      age = age * 10 + (c - '0');
+    }
+    return age;
+  }
+
+  /**
+   * @param person  the record to write
+   * @return        person as a single line without a line terminator
+   */
+  static String format(Person person) {
+    return person.getFirstName() + ','
+        + person.getMiddleName().getOrElse(() -> "") + ','
+        + person.getLastName() + ','
+        + person.getAge() + ','
+        + person.getGender();
+  }
+
+}
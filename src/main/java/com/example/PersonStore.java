@@ -0,0 +1,259 @@
+package com.example;
+
+import com.example.Main.Gender;
+import com.example.Main.Person;
+import com.example.Main.PersonFields;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Person records held off-heap, one fixed size slot per record in a direct
+ * ByteBuffer, so that millions of them cost the garbage collector nothing.</p>
+ * <p>Names are dictionary encoded: each distinct String is kept on-heap once,
+ * with a shared Just wrapping it, and records hold its int code. A slot is
+ * laid out as</p>
+ * <pre>
+ *   offset  0  int   first name code
+ *   offset  4  int   middle name code, meaningful only when present
+ *   offset  8  int   last name code
+ *   offset 12  int   age
+ *   offset 16  byte  Gender.ordinal()
+ *   offset 17  byte  presence bits, bit 0 set when the middle name is present
+ *   offset 18        padding to RECORD_BYTES, keeping every int aligned
+ * </pre>
+ * <p>Records are read through a {@link Cursor}, a flyweight PersonFields that
+ * is moved from slot to slot and decodes fields on demand. Reading any field,
+ * including the middle name as a Maybe, allocates nothing, so a Rule or
+ * CompiledRequirements can check a whole store without creating a single
+ * Person. E.G.</p>
+ * <pre>
+ *   <blockquote>
+ *     PersonStore store = PersonStore.of(people);
+ *     PersonStore.Cursor cursor = store.cursor();
+ *     for (int i = 0; i &lt; store.size(); i++)
+ *       failures[i] = requirements.failures(cursor.moveTo(i));
+ *   </blockquote>
+ * </pre>
+ * <p>A store is not thread safe. Any number of threads may read it through
+ * cursors of their own while nothing is being added or set.</p>
+ *
+ * @author Bob Carberry
+ */
+final class PersonStore {
+
+  /** The size of a record slot in bytes. */
+  static final int RECORD_BYTES = 20;
+
+  /** The most records a store can hold, the slots of which fill one ByteBuffer. */
+  static final int MAX_RECORDS = Integer.MAX_VALUE / RECORD_BYTES;
+
+  private static final int FIRST_NAME = 0;
+  private static final int MIDDLE_NAME = 4;
+  private static final int LAST_NAME = 8;
+  private static final int AGE = 12;
+  private static final int GENDER = 16;
+  private static final int PRESENCE = 17;
+  private static final byte MIDDLE_NAME_PRESENT = 1;
+
+  private static final Gender[] GENDERS = Gender.values();
+
+  private ByteBuffer records;
+  private int size;
+
+  // the dictionary: codes by string, and each string and its Just by code
+  private final Map<String, Integer> codes = new HashMap<String, Integer>();
+  private String[] strings = new String[16];
+  private Maybe<String>[] justs = newMaybes(16);
+  private int dictionarySize;
+
+  /**
+   * @param capacity  the number of records to make room for up front
+   */
+  PersonStore(int capacity) {
+    if (capacity < 1 || capacity > MAX_RECORDS)
+      throw new IllegalArgumentException("capacity must be between 1 and " + MAX_RECORDS + ": " + capacity);
+    records = ByteBuffer.allocateDirect(capacity * RECORD_BYTES).order(ByteOrder.nativeOrder());
+  }
+
+  /**
+   * <p>Copies every person into a new store.</p>
+   * @param people  the records, in order
+   * @return        a PersonStore holding the same records
+   */
+  static PersonStore of(List<Person> people) {
+    PersonStore store = new PersonStore(Math.max(1, people.size()));
+    for (Person person : people)
+      store.add(person);
+    return store;
+  }
+
+  /**
+   * @return  the number of records
+   */
+  int size() { return size; }
+
+  /**
+   * @return  the number of distinct names in the dictionary
+   */
+  int dictionarySize() { return dictionarySize; }
+
+  /**
+   * @return  the number of bytes reserved off-heap for records
+   */
+  long offHeapBytes() { return records.capacity(); }
+
+  /**
+   * <p>Appends a record, growing the off-heap buffer if it is full.</p>
+   * @param person  the record to append
+   * @return        the index of the new record
+   * @throws        IllegalStateException if the store already holds MAX_RECORDS
+   */
+  int add(Person person) {
+    if (size == MAX_RECORDS)
+      throw new IllegalStateException("more than " + MAX_RECORDS + " records");
+    if ((size + 1) * RECORD_BYTES > records.capacity())
+      grow();
+    write(size, person);
+    return size++;
+  }
+
+  /**
+   * <p>Overwrites a record in place.</p>
+   * @param index   the index of the record to replace
+   * @param person  the new value of the record
+   */
+  void set(int index, Person person) {
+    checkIndex(index);
+    write(index, person);
+  }
+
+  /**
+   * <p>Materializes a record as a Person. The names are the dictionary's
+   * shared instances.</p>
+   * @param index  the index of a record
+   * @return       the record at index as a Person
+   */
+  Person get(int index) {
+    Cursor cursor = cursor().moveTo(index);
+    return new Person(cursor.getFirstName(), cursor.getMiddleName(), cursor.getLastName(),
+        cursor.getAge(), cursor.getGender());
+  }
+
+  /**
+   * <p>Creates a Cursor that is not on any record yet. Its getters throw
+   * IndexOutOfBoundsException until it is moved to one.</p>
+   * @return  a new Cursor, to be positioned with moveTo
+   */
+  Cursor cursor() { return new Cursor(); }
+
+  private void write(int index, Person person) {
+    int base = index * RECORD_BYTES;
+    Maybe<String> middleName = person.getMiddleName();
+    boolean present = middleName instanceof Maybe.Just;
+    records.putInt(base + FIRST_NAME, encode(person.getFirstName()));
+    records.putInt(base + MIDDLE_NAME, present ? encode(middleName.get()) : 0);
+    records.putInt(base + LAST_NAME, encode(person.getLastName()));
+    records.putInt(base + AGE, person.getAge());
+    records.put(base + GENDER, (byte) person.getGender().ordinal());
+    records.put(base + PRESENCE, present ? MIDDLE_NAME_PRESENT : 0);
+  }
+
+  private int encode(String value) {
+    Integer code = codes.get(value);
+    if (code != null)
+      return code;
+    if (dictionarySize == strings.length) {
+      String[] moreStrings = new String[dictionarySize * 2];
+      System.arraycopy(strings, 0, moreStrings, 0, dictionarySize);
+      strings = moreStrings;
+      Maybe<String>[] moreJusts = newMaybes(dictionarySize * 2);
+      System.arraycopy(justs, 0, moreJusts, 0, dictionarySize);
+      justs = moreJusts;
+    }
+    strings[dictionarySize] = value;
+    justs[dictionarySize] = Maybe.apply(value);
+    codes.put(value, dictionarySize);
+    return dictionarySize++;
+  }
+
+  private void grow() {
+    int capacity = (int) Math.min(2L * records.capacity() / RECORD_BYTES, MAX_RECORDS) * RECORD_BYTES;
+    ByteBuffer larger = ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+    // records are only ever accessed absolutely, so the position stays 0
+    ByteBuffer used = records.duplicate();
+    // the cast links this call to Java 8's Buffer.limit
+    ((Buffer) used).limit(size * RECORD_BYTES);
+    larger.put(used);
+    records = larger;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size)
+      throw new IndexOutOfBoundsException("index " + index + " of " + size);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Maybe<String>[] newMaybes(int n) {
+    return (Maybe<String>[]) new Maybe[n];
+  }
+
+  /**
+   * <p>A movable view of one record of the store. Each getter decodes its
+   * field from the slot the cursor is on, so values read before moveTo keep
+   * describing the previous record.</p>
+   */
+  final class Cursor implements PersonFields {
+    private int index = -1;
+    // every field offset from here is negative, so the buffer's own bounds
+    // check rejects reads before the first moveTo
+    private int base = -RECORD_BYTES;
+
+    private Cursor() {}
+
+    /**
+     * @param index  the index of a record
+     * @return       this cursor, positioned on the record at index
+     */
+    Cursor moveTo(int index) {
+      checkIndex(index);
+      this.index = index;
+      this.base = index * RECORD_BYTES;
+      return this;
+    }
+
+    /**
+     * @return  the index of the record this cursor is on, or -1 before the
+     *          first moveTo
+     */
+    int index() { return index; }
+
+    @Override
+    public String getFirstName() { return strings[records.getInt(base + FIRST_NAME)]; }
+
+    @Override
+    public Maybe<String> getMiddleName() {
+      if ((records.get(base + PRESENCE) & MIDDLE_NAME_PRESENT) != 0)
+        return justs[records.getInt(base + MIDDLE_NAME)];
+      else
+        return Maybe.nothing();
+    }
+
+    @Override
+    public String getLastName() { return strings[records.getInt(base + LAST_NAME)]; }
+
+    @Override
+    public int getAge() { return records.getInt(base + AGE); }
+
+    @Override
+    public Gender getGender() { return GENDERS[records.get(base + GENDER)]; }
+
+    @Override
+    public String toString() { return "PersonStore.Cursor(" + index + ')'; }
+  }
+
+}
@@ -0,0 +1,42 @@
+package com.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * <p>A Java Flight Recorder event emitted for every requirement evaluated by
+ * Main.check.</p>
+ * <p>Whether the event is recorded is decided entirely by the JFR settings in
+ * use, e.g. <code>com.example.RequirementEvaluation#enabled=true</code> and
+ * <code>#threshold=0 ms</code> to see every evaluation. When no recording is
+ * running the event is never committed and its fields are never populated.</p>
+ *
+ * @author Bob Carberry
+ */
+@Name("com.example.RequirementEvaluation")
+@Label("Requirement Evaluation")
+@Category({"functional-java", "Validation"})
+@Description("A single requirement applied to a single record")
+@StackTrace(false)
+@Threshold("10 us")
+final class RequirementEvent extends jdk.jfr.Event {
+
+  @Label("Requirement")
+  String requirement;
+
+  @Label("Passed")
+  boolean passed;
+
+  @Label("Field")
+  @Description("The field named by RequirementNotMet, if the requirement was not met")
+  String field;
+
+  @Label("Reason")
+  @Description("The reason given by RequirementNotMet, if the requirement was not met")
+  String reason;
+
+}
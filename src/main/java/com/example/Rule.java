@@ -0,0 +1,309 @@
+package com.example;
+
+import com.example.Main.Gender;
+import com.example.Main.Person;
+import com.example.Main.PersonFields;
+
+/**
+ * <p>A declarative condition on the fields of a Person.</p>
+ * <p>Rules are built from field comparisons and combined with and, or and
+ * negate. Unlike an opaque Function a Rule is plain data, so a set of them can
+ * be compiled into a single evaluator by {@link CompiledRequirements}. E.G.</p>
+ * <pre>
+ *   <blockqoute>
+ *     Rule seniorWoman = Rule.age().atLeast(65).and(Rule.gender().is(Gender.Female));
+ *     Rule named = Rule.middleName().present().or(Rule.lastName().equalTo("Murphy"));
+ *   </blockqoute>
+ * </pre>
+ *
+ * @author Bob Carberry
+ */
+abstract class Rule {
+
+  private Rule() {}
+
+  /**
+   * <p>Tests the rule against a single person, or a flyweight over one,
+   * without allocating.</p>
+   * @param person  the person to test
+   * @return        true if the person satisfies this rule
+   */
+  abstract boolean test(PersonFields person);
+
+  /**
+   * <p>Tests the rule against every record of a batch at once, one column at
+   * a time.</p>
+   * @param columns  the batch to test
+   * @param out      a bitmap from columns.newBitmap() that receives a set bit
+   *                 for every record satisfying this rule
+   */
+  abstract void evaluate(PersonColumns columns, long[] out);
+
+  /**
+   * @return  a bitmask of the {@link Field}s this rule reads, see Field.bit()
+   */
+  abstract int fields();
+
+  /**
+   * @param other  the rule that must also hold
+   * @return       a rule that holds when this rule and other both hold
+   */
+  final Rule and(Rule other) { return new And(this, other); }
+
+  /**
+   * @param other  the alternative rule
+   * @return       a rule that holds when this rule or other holds
+   */
+  final Rule or(Rule other) { return new Or(this, other); }
+
+  /**
+   * @return  a rule that holds exactly when this rule does not
+   */
+  final Rule negate() { return new Not(this); }
+
+  /**
+   * @return  comparisons on Person.getAge()
+   */
+  static AgeField age() { return new AgeField(); }
+
+  /**
+   * @return  comparisons on Person.getGender()
+   */
+  static GenderField gender() { return new GenderField(); }
+
+  /**
+   * @return  comparisons on Person.getFirstName()
+   */
+  static StringField firstName() { return new StringField(false); }
+
+  /**
+   * @return  comparisons on Person.getLastName()
+   */
+  static StringField lastName() { return new StringField(true); }
+
+  /**
+   * @return  comparisons on Person.getMiddleName()
+   */
+  static MaybeField middleName() { return new MaybeField(); }
+
+  /**
+   * <p>The fields of a Person that a rule can read.</p>
+   */
+  enum Field {
+    FIRST_NAME, MIDDLE_NAME, LAST_NAME, AGE, GENDER;
+
+    /**
+     * @return  the bit representing this field in a fields() bitmask
+     */
+    int bit() { return 1 << ordinal(); }
+
+    /**
+     * <p>Compares two versions of a record field by field.</p>
+     * @param before  the previous version of the record
+     * @param after   the current version of the record
+     * @return        a bitmask of the fields whose values differ
+     */
+    static int changes(Person before, Person after) {
+      int changed = 0;
+      if (!before.getFirstName().equals(after.getFirstName()))
+        changed |= FIRST_NAME.bit();
+      if (!before.getMiddleName().equals(after.getMiddleName()))
+        changed |= MIDDLE_NAME.bit();
+      if (!before.getLastName().equals(after.getLastName()))
+        changed |= LAST_NAME.bit();
+      if (before.getAge() != after.getAge())
+        changed |= AGE.bit();
+      if (before.getGender() != after.getGender())
+        changed |= GENDER.bit();
+      return changed;
+    }
+  }
+
+  /**
+   * <p>Comparisons on the age field. Every comparison becomes an inclusive range
+   * check.</p>
+   */
+  static final class AgeField {
+    private AgeField() {}
+    Rule atLeast(int min) { return between(min, Integer.MAX_VALUE); }
+    Rule atMost(int max) { return between(Integer.MIN_VALUE, max); }
+    Rule greaterThan(int min) { return min == Integer.MAX_VALUE ? new Not(any()) : atLeast(min + 1); }
+    Rule lessThan(int max) { return max == Integer.MIN_VALUE ? new Not(any()) : atMost(max - 1); }
+    Rule equalTo(int value) { return between(value, value); }
+    Rule between(int min, int max) { return new AgeRange(min, max); }
+    private Rule any() { return between(Integer.MIN_VALUE, Integer.MAX_VALUE); }
+  }
+
+  /**
+   * <p>Comparisons on the Gender field.</p>
+   */
+  static final class GenderField {
+    private GenderField() {}
+    Rule is(Gender gender) { return new GenderIs(gender); }
+  }
+
+  /**
+   * <p>Comparisons on a required String field.</p>
+   */
+  static final class StringField {
+    private final boolean last;
+    private StringField(boolean last) { this.last = last; }
+    Rule equalTo(String value) { return new NameEquals(last, value); }
+  }
+
+  /**
+   * <p>Comparisons on an optional String field.</p>
+   */
+  static final class MaybeField {
+    private MaybeField() {}
+    Rule present() { return new MiddleNamePresent(); }
+    Rule absent() { return new Not(present()); }
+  }
+
+  static final class AgeRange extends Rule {
+    final int min;
+    final int max;
+    AgeRange(int min, int max) {
+      this.min = min;
+      this.max = max;
+    }
+    @Override
+    boolean test(PersonFields person) {
+      int age = person.getAge();
+      return min <= age && age <= max;
+    }
+    @Override
+    void evaluate(PersonColumns columns, long[] out) {
+      int[] ages = columns.ages;
+      int n = columns.size;
+      for (int w = 0, base = 0; base < n; w++, base += 64) {
+        int end = Math.min(64, n - base);
+        long bits = 0L;
+        for (int b = 0; b < end; b++) {
+          int age = ages[base + b];
+          bits |= (min <= age & age <= max ? 1L : 0L) << b;
+        }
+        out[w] = bits;
+      }
+    }
+    @Override int fields() { return Field.AGE.bit(); }
+    @Override public String toString() { return min + " <= age <= " + max; }
+  }
+
+  static final class GenderIs extends Rule {
+    final Gender gender;
+    GenderIs(Gender gender) { this.gender = gender; }
+    @Override
+    boolean test(PersonFields person) { return person.getGender() == gender; }
+    @Override
+    void evaluate(PersonColumns columns, long[] out) {
+      byte[] genders = columns.genders;
+      byte ordinal = (byte) gender.ordinal();
+      int n = columns.size;
+      for (int w = 0, base = 0; base < n; w++, base += 64) {
+        int end = Math.min(64, n - base);
+        long bits = 0L;
+        for (int b = 0; b < end; b++)
+          bits |= (genders[base + b] == ordinal ? 1L : 0L) << b;
+        out[w] = bits;
+      }
+    }
+    @Override int fields() { return Field.GENDER.bit(); }
+    @Override public String toString() { return "gender == " + gender; }
+  }
+
+  static final class NameEquals extends Rule {
+    final boolean last;
+    final String value;
+    NameEquals(boolean last, String value) {
+      this.last = last;
+      this.value = value;
+    }
+    @Override
+    boolean test(PersonFields person) {
+      return value.equals(last ? person.getLastName() : person.getFirstName());
+    }
+    @Override
+    void evaluate(PersonColumns columns, long[] out) {
+      String[] names = last ? columns.lastNames : columns.firstNames;
+      for (int i = 0; i < columns.size; i++) {
+        if (value.equals(names[i]))
+          out[i >>> 6] |= 1L << i;
+        else
+          out[i >>> 6] &= ~(1L << i);
+      }
+    }
+    @Override int fields() { return last ? Field.LAST_NAME.bit() : Field.FIRST_NAME.bit(); }
+    @Override public String toString() { return (last ? "lastName" : "firstName") + " == " + value; }
+  }
+
+  static final class MiddleNamePresent extends Rule {
+    @Override
+    boolean test(PersonFields person) { return person.getMiddleName() instanceof Maybe.Just; }
+    @Override
+    void evaluate(PersonColumns columns, long[] out) {
+      System.arraycopy(columns.middleNamePresent, 0, out, 0, out.length);
+    }
+    @Override int fields() { return Field.MIDDLE_NAME.bit(); }
+    @Override public String toString() { return "middleName present"; }
+  }
+
+  static final class And extends Rule {
+    final Rule left;
+    final Rule right;
+    And(Rule left, Rule right) {
+      this.left = left;
+      this.right = right;
+    }
+    @Override
+    boolean test(PersonFields person) { return left.test(person) && right.test(person); }
+    @Override
+    void evaluate(PersonColumns columns, long[] out) {
+      long[] other = columns.newBitmap();
+      left.evaluate(columns, out);
+      right.evaluate(columns, other);
+      for (int w = 0; w < out.length; w++)
+        out[w] &= other[w];
+    }
+    @Override int fields() { return left.fields() | right.fields(); }
+    @Override public String toString() { return "(" + left + " and " + right + ")"; }
+  }
+
+  static final class Or extends Rule {
+    final Rule left;
+    final Rule right;
+    Or(Rule left, Rule right) {
+      this.left = left;
+      this.right = right;
+    }
+    @Override
+    boolean test(PersonFields person) { return left.test(person) || right.test(person); }
+    @Override
+    void evaluate(PersonColumns columns, long[] out) {
+      long[] other = columns.newBitmap();
+      left.evaluate(columns, out);
+      right.evaluate(columns, other);
+      for (int w = 0; w < out.length; w++)
+        out[w] |= other[w];
+    }
+    @Override int fields() { return left.fields() | right.fields(); }
+    @Override public String toString() { return "(" + left + " or " + right + ")"; }
+  }
+
+  static final class Not extends Rule {
+    final Rule rule;
+    Not(Rule rule) { this.rule = rule; }
+    @Override
+    boolean test(PersonFields person) { return !rule.test(person); }
+    @Override
+    void evaluate(PersonColumns columns, long[] out) {
+      rule.evaluate(columns, out);
+      for (int w = 0; w < out.length; w++)
+        out[w] = ~out[w];
+      columns.trim(out);
+    }
+    @Override int fields() { return rule.fields(); }
+    @Override public String toString() { return "not " + rule; }
+  }
+
+}
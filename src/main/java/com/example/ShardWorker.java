@@ -0,0 +1,72 @@
+package com.example;
+
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * <p>The worker process of a {@link ShardedValidator}. Not meant to be run by
+ * hand; its arguments are</p>
+ * <pre>
+ *   requirementsClass input start end segments region capacity
+ * </pre>
+ * <p>The worker checks every non-empty line of input between byte start and
+ * byte end and writes the failure bitmasks into the region of segments that
+ * starts at byte region, CompiledRequirements.INVALID_RECORD for a line that
+ * is not a valid record. The record count and then the DONE status are
+ * written last, so the coordinator never sees a partial region as complete.</p>
+ *
+ * @author Bob Carberry
+ */
+public final class ShardWorker {
+
+  private ShardWorker() {}
+
+  @SuppressWarnings("unchecked")
+  public static void main(String[] args) throws Exception {
+    if (args.length != 7)
+      throw new IllegalArgumentException("expected 7 arguments: " + Arrays.toString(args));
+    Supplier<CompiledRequirements> supplier = (Supplier<CompiledRequirements>)
+        Class.forName(args[0]).getDeclaredConstructor().newInstance();
+    CompiledRequirements requirements = supplier.get();
+    if (requirements.size() == CompiledRequirements.MAX_REQUIREMENTS)
+      throw new IllegalArgumentException("at most " + (CompiledRequirements.MAX_REQUIREMENTS - 1)
+          + " requirements, the last bit marks invalid records");
+    Path input = Paths.get(args[1]);
+    long start = Long.parseLong(args[2]);
+    long end = Long.parseLong(args[3]);
+    Path segments = Paths.get(args[4]);
+    long region = Long.parseLong(args[5]);
+    int capacity = Integer.parseInt(args[6]);
+    if (capacity > ShardedValidator.MAX_SHARD_RECORDS)
+      throw new IllegalArgumentException("capacity is more than " + ShardedValidator.MAX_SHARD_RECORDS
+          + " records: " + capacity);
+
+    try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+         FileChannel out = FileChannel.open(segments, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      MappedByteBuffer lines = in.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+      MappedByteBuffer results = out.map(FileChannel.MapMode.READ_WRITE, region,
+          ShardedValidator.HEADER_BYTES + 8L * capacity);
+      int count = 0;
+      LineReader reader = new LineReader();
+      while (reader.next(lines) || reader.end()) {
+        if (count == capacity)
+          throw new IllegalStateException("more records than lines in shard");
+        Try<Main.Person> person = PersonCsv.tryParse(reader.line());
+        long failures = person.isSuccess()
+            ? requirements.failures(person.get()) : CompiledRequirements.INVALID_RECORD;
+        results.putLong(Math.toIntExact(ShardedValidator.HEADER_BYTES + 8L * count), failures);
+        count++;
+      }
+      results.putInt(ShardedValidator.COUNT_OFFSET, count);
+      results.force();
+      results.putInt(ShardedValidator.STATUS_OFFSET, ShardedValidator.DONE);
+      results.force();
+    }
+  }
+
+}
@@ -0,0 +1,367 @@
+package com.example;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * <p>Validates a file of {@link PersonCsv} records using several worker JVMs
+ * on the local host.</p>
+ * <p>The coordinator splits the input at line boundaries into shards and lays
+ * out one region per shard in a shared segment file. Each worker, a
+ * {@link ShardWorker} process, memory maps its slice of the input and its own
+ * region, checks every record and writes the failure bitmask of each one into
+ * the region (0 meaning the record was a Right and
+ * CompiledRequirements.INVALID_RECORD that the line was not a valid record).
+ * Once all workers have exited the coordinator merges the regions in input
+ * order. The coordinator itself reads through buffers rather than mappings,
+ * so nothing stays mapped after validate returns. E.G.</p>
+ * <pre>
+ *   <blockqoute>
+ *     ShardedValidator validator = new ShardedValidator(4, ShardedValidator.SeniorFemale.class);
+ *     long[] failures = validator.validate(Paths.get("people.csv"));
+ *     List&lt;RequirementNotMet&gt; unmet = Main.seniorFemale.unmet(failures[i]);
+ *   </blockqoute>
+ * </pre>
+ * <p>Workers cannot share lambdas with the coordinator, so the requirements are
+ * named by a Supplier class with a no-argument constructor that each worker
+ * instantiates for itself. The output of each worker goes to a temporary log,
+ * the end of which is included in the IOException thrown if it fails.</p>
+ *
+ * @author Bob Carberry
+ */
+final class ShardedValidator {
+
+  /** Shards never span more input than can be mapped at once. */
+  static final long MAX_SHARD_BYTES = 1L << 30;
+
+  /*
+   * Each region starts with an int status and an int record count, followed
+   * by one long failure bitmask per record
+   */
+  static final int HEADER_BYTES = 8;
+  static final int STATUS_OFFSET = 0;
+  static final int COUNT_OFFSET = 4;
+  static final int DONE = 1;
+
+  /** Shards never hold more lines than keep their region within one mapping. */
+  static final int MAX_SHARD_RECORDS = (Integer.MAX_VALUE - HEADER_BYTES) / 8;
+
+  /** The most records a merged result array can hold. */
+  static final int MAX_RESULTS = Integer.MAX_VALUE - 8;
+
+  /** At most this much of a failed worker's log is included in the exception. */
+  static final int LOG_TAIL_BYTES = 4096;
+
+  private static final int BUFFER_BYTES = 1 << 16;
+
+  private final int workers;
+  private final Class<? extends Supplier<CompiledRequirements>> requirements;
+  private final List<String> jvmOptions;
+  private final int maxShardRecords;
+
+  /**
+   * @param workers       the largest number of worker JVMs running at once
+   * @param requirements  a Supplier class, instantiated by each worker, that
+   *                      provides the requirements to check
+   * @param jvmOptions    extra options for each worker JVM, e.g. "-Xmx64m"
+   */
+  ShardedValidator(int workers, Class<? extends Supplier<CompiledRequirements>> requirements,
+                   String... jvmOptions) {
+    this(workers, MAX_SHARD_RECORDS, requirements, jvmOptions);
+  }
+
+  /*
+   * Caps shards at maxShardRecords lines, which is how splitting by line
+   * count is tested without billions of lines
+   */
+  ShardedValidator(int workers, int maxShardRecords, Class<? extends Supplier<CompiledRequirements>> requirements,
+                   String... jvmOptions) {
+    if (workers < 1)
+      throw new IllegalArgumentException("workers must be positive: " + workers);
+    if (maxShardRecords < 1 || maxShardRecords > MAX_SHARD_RECORDS)
+      throw new IllegalArgumentException("maxShardRecords must be between 1 and " + MAX_SHARD_RECORDS
+          + ": " + maxShardRecords);
+    this.workers = workers;
+    this.maxShardRecords = maxShardRecords;
+    this.requirements = requirements;
+    this.jvmOptions = Arrays.asList(jvmOptions);
+  }
+
+  /**
+   * <p>Validates input using a temporary segment file, in /dev/shm when it
+   * exists, that is deleted afterwards.</p>
+   * @param input  a file of PersonCsv lines
+   * @return       the failure bitmask of every record, in input order
+   * @throws       IOException if the input cannot be read or a worker fails
+   * @throws       InterruptedException if interrupted while waiting for a worker
+   */
+  long[] validate(Path input) throws IOException, InterruptedException {
+    Path shm = Paths.get("/dev/shm");
+    Path segments = Files.isDirectory(shm) && Files.isWritable(shm)
+        ? Files.createTempFile(shm, "shards", ".seg")
+        : Files.createTempFile("shards", ".seg");
+    try {
+      return validate(input, segments);
+    } finally {
+      Files.deleteIfExists(segments);
+    }
+  }
+
+  /**
+   * <p>Validates input, using segments as the shared result file.</p>
+   * @param input     a file of PersonCsv lines
+   * @param segments  the file the workers write their results to
+   * @return          the failure bitmask of every record, in input order
+   * @throws          IOException if the input cannot be read or a worker fails
+   * @throws          InterruptedException if interrupted while waiting for a worker
+   */
+  long[] validate(Path input, Path segments) throws IOException, InterruptedException {
+    List<Shard> shards = split(input);
+    long length = 0;
+    for (Shard shard : shards) {
+      shard.region = length;
+      length += shard.regionBytes();
+    }
+    try (FileChannel channel = FileChannel.open(segments, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      if (length > 0)
+        channel.write(ByteBuffer.allocate(1), length - 1);
+      run(input, segments, shards);
+      return merge(channel, shards);
+    }
+  }
+
+  /*
+   * Cuts the input into roughly equal byte ranges that end just after a line
+   * terminator, cuts any range with more than maxShardRecords lines again, and
+   * bounds the number of records in each shard by its line count
+   */
+  private List<Shard> split(Path input) throws IOException {
+    List<Shard> shards = new ArrayList<Shard>();
+    try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size == 0)
+        return shards;
+      long count = Math.max(workers, (size + MAX_SHARD_BYTES - 1) / MAX_SHARD_BYTES);
+      long start = 0;
+      for (long k = 1; k <= count && start < size; k++) {
+        long end = k == count ? size : Math.max(start, nextLineStart(channel, k * size / count));
+        if (end > start) {
+          addShards(channel, start, end, shards);
+          start = end;
+        }
+      }
+    }
+    return shards;
+  }
+
+  // the position just after the first line terminator at or after position - 1
+  private static long nextLineStart(FileChannel channel, long position) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(8192);
+    long p = Math.max(position - 1, 0);
+    while (true) {
+      // the cast links this call to Java 8's Buffer.clear
+      ((Buffer) buffer).clear();
+      int read = channel.read(buffer, p);
+      if (read <= 0)
+        return channel.size();
+      for (int i = 0; i < read; i++) {
+        if (buffer.get(i) == '\n')
+          return p + i + 1;
+      }
+      p += read;
+    }
+  }
+
+  /*
+   * Adds the bytes from start to end as shards, cutting just after every
+   * maxShardRecords-th line terminator. Blank lines count, so the capacity of
+   * a shard can only overestimate its records.
+   */
+  private void addShards(FileChannel channel, long start, long end, List<Shard> shards) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    int newlines = 0;
+    for (long p = start; p < end; ) {
+      // the casts link these calls to Java 8's Buffer methods
+      ((Buffer) buffer).clear();
+      ((Buffer) buffer).limit((int) Math.min(buffer.capacity(), end - p));
+      int read = channel.read(buffer, p);
+      if (read < 0)
+        break;
+      for (int i = 0; i < read; i++) {
+        if (buffer.get(i) == '\n' && ++newlines == maxShardRecords) {
+          shards.add(new Shard(start, p + i + 1, newlines));
+          start = p + i + 1;
+          newlines = 0;
+        }
+      }
+      p += read;
+    }
+    // the last line of the input may have no terminator
+    if (start < end)
+      shards.add(new Shard(start, end, newlines + 1));
+  }
+
+  private void run(Path input, Path segments, List<Shard> shards) throws IOException, InterruptedException {
+    String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    Deque<Worker> running = new ArrayDeque<Worker>();
+    List<Worker> started = new ArrayList<Worker>();
+    try {
+      for (Shard shard : shards) {
+        if (running.size() == workers)
+          await(running.removeFirst());
+        List<String> command = new ArrayList<String>();
+        command.add(java);
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(ShardWorker.class.getName());
+        command.add(requirements.getName());
+        command.add(input.toString());
+        command.add(Long.toString(shard.start));
+        command.add(Long.toString(shard.end));
+        command.add(segments.toString());
+        command.add(Long.toString(shard.region));
+        command.add(Integer.toString(shard.capacity));
+        Worker worker = new Worker(shard, Files.createTempFile("shard", ".log"));
+        started.add(worker);
+        worker.process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(worker.log.toFile())
+            .start();
+        running.addLast(worker);
+      }
+      while (!running.isEmpty())
+        await(running.removeFirst());
+    } finally {
+      for (Worker worker : started) {
+        if (worker.process != null)
+          worker.process.destroy();
+        Files.deleteIfExists(worker.log);
+      }
+    }
+  }
+
+  private static void await(Worker worker) throws IOException, InterruptedException {
+    int exit = worker.process.waitFor();
+    if (exit != 0)
+      throw new IOException("shard worker for bytes " + worker.shard.start + " to " + worker.shard.end
+          + " failed with exit code " + exit + ":\n" + tail(worker.log));
+  }
+
+  // the last LOG_TAIL_BYTES of a worker's log
+  private static String tail(Path log) throws IOException {
+    try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)) {
+      long size = channel.size();
+      ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(size, LOG_TAIL_BYTES));
+      readFully(channel, buffer, size - buffer.capacity());
+      return new String(buffer.array(), StandardCharsets.UTF_8);
+    }
+  }
+
+  /*
+   * Reads the regions through a heap buffer rather than mapping them, so the
+   * segment file is not left mapped until the buffers are collected
+   */
+  private static long[] merge(FileChannel channel, List<Shard> shards) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    int[] counts = new int[shards.size()];
+    long total = 0;
+    for (int i = 0; i < counts.length; i++) {
+      Shard shard = shards.get(i);
+      ((Buffer) buffer).limit(HEADER_BYTES);
+      readFully(channel, buffer, shard.region);
+      if (buffer.getInt(STATUS_OFFSET) != DONE)
+        throw new IOException("shard at byte " + shard.start + " did not complete");
+      counts[i] = buffer.getInt(COUNT_OFFSET);
+      total += counts[i];
+      ((Buffer) buffer).clear();
+    }
+    if (total > MAX_RESULTS)
+      throw new IOException(total + " records are more than the " + MAX_RESULTS + " one result array can hold");
+    long[] merged = new long[(int) total];
+    int offset = 0;
+    for (int i = 0; i < counts.length; i++) {
+      long position = shards.get(i).region + HEADER_BYTES;
+      for (int remaining = counts[i]; remaining > 0; ) {
+        int n = Math.min(remaining, BUFFER_BYTES / 8);
+        ((Buffer) buffer).limit(8 * n);
+        readFully(channel, buffer, position);
+        buffer.asLongBuffer().get(merged, offset, n);
+        ((Buffer) buffer).clear();
+        position += 8L * n;
+        offset += n;
+        remaining -= n;
+      }
+    }
+    return merged;
+  }
+
+  // fills buffer from its position to its limit, then rewinds it
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position);
+      if (read < 0)
+        throw new IOException("file ends before byte " + position);
+      position += read;
+    }
+    ((Buffer) buffer).rewind();
+  }
+
+  /*
+   * A byte range of the input and the segment region its results go to
+   */
+  private static final class Shard {
+    final long start;
+    final long end;
+    final int capacity;
+    long region;
+
+    Shard(long start, long end, int capacity) {
+      this.start = start;
+      this.end = end;
+      this.capacity = capacity;
+    }
+
+    long regionBytes() {
+      return HEADER_BYTES + 8L * capacity;
+    }
+  }
+
+  // a started worker process and the file its output goes to
+  private static final class Worker {
+    final Shard shard;
+    final Path log;
+    Process process;
+
+    Worker(Shard shard, Path log) {
+      this.shard = shard;
+      this.log = log;
+    }
+  }
+
+  /**
+   * <p>Supplies Main.seniorFemale to workers.</p>
+   */
+  static final class SeniorFemale implements Supplier<CompiledRequirements> {
+    @Override
+    public CompiledRequirements get() {
+      return Main.seniorFemale;
+    }
+  }
+
+}
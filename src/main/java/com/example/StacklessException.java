@@ -0,0 +1,41 @@
+package com.example;
+
+/**
+ * <p>A RuntimeException that records no stack trace and no suppressed
+ * exceptions.</p>
+ * <p>Most of the cost of creating an exception is filling in its stack trace.
+ * This one skips it, so it is cheap enough to describe expected failures,
+ * such as a malformed line of input, one per record. It is what
+ * Try.failure(message) wraps. E.G.</p>
+ * <pre>
+ *   <blockqoute>
+ *     Try&lt;Integer&gt; age = Try.of(() -&gt; {
+ *       if (text.isEmpty())
+ *         throw new StacklessException("missing age");
+ *       return Integer.valueOf(text);
+ *     });
+ *   </blockqoute>
+ * </pre>
+ *
+ * @author Bob Carberry
+ */
+public class StacklessException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * @param message  the description of the failure
+   */
+  public StacklessException(String message) {
+    super(message, null, false, false);
+  }
+
+  /**
+   * @param message  the description of the failure
+   * @param cause    the exception that caused the failure
+   */
+  public StacklessException(String message, Throwable cause) {
+    super(message, cause, false, false);
+  }
+
+}
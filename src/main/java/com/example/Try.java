@@ -0,0 +1,303 @@
+package com.example;
+
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <p>Try&lt;A&gt; is the outcome of a computation of a value of type A that
+ * may throw.</p>
+ * <p>Try has two concrete types Success and Failure. Success wraps the value
+ * of type A while Failure wraps the exception that was thrown. Exceptions
+ * thrown by the functions passed to of, map and flatMap become Failures
+ * instead of propagating. Errors are not caught. E.G.</p>
+ * <pre>
+ *   <blockqoute>
+ *     Try&lt;Integer&gt; age = Try.of(() -&gt; Integer.valueOf(text))
+ *                             .map(a -&gt; a + 1)
+ *                             .recover(e -&gt; 0);
+ *   </blockqoute>
+ * </pre>
+ * <p>Filling in the stack trace is most of the cost of an exception. Code
+ * that fails often, like a parser of untrusted input, can opt out of it by
+ * signalling failure with Try.failure(message) or by throwing a
+ * StacklessException, neither of which captures a stack trace. Exceptions
+ * created by other code, such as the NumberFormatException above, have
+ * already paid for theirs by the time they are caught.</p>
+ *
+ * @author Bob Carberry
+ */
+public abstract class Try<A> {
+
+  /**
+   * <p>Evaluates the supplier, returning its result as a Success or the
+   * exception it threw as a Failure.</p>
+   * @param supplier  the computation to run
+   * @param <T>       the type of the result
+   * @return          an instance of Try&lt;T&gt;
+   */
+  public static <T> Try<T> of(CheckedSupplier<? extends T> supplier) {
+    try {
+      return success(supplier.get());
+    } catch (Exception e) {
+      return failure(e);
+    }
+  }
+
+  /**
+   * @param value  the value to wrap as a Success
+   * @param <T>    the type of the value
+   * @return       value as a Success
+   */
+  public static <T> Try<T> success(T value) {
+    return new Success<T>(value);
+  }
+
+  /**
+   * @param exception  the exception to wrap as a Failure
+   * @param <T>        the type of the Try
+   * @return           exception as a Failure
+   */
+  public static <T> Try<T> failure(Throwable exception) {
+    if (exception == null)
+      throw new NullPointerException("exception");
+    return (Try<T>) new Failure(exception);
+  }
+
+  /**
+   * <p>Creates a Failure without capturing a stack trace.</p>
+   * @param message  the description of the failure
+   * @param <T>      the type of the Try
+   * @return         a StacklessException with message as a Failure
+   */
+  public static <T> Try<T> failure(String message) {
+    return failure(new StacklessException(message));
+  }
+
+  /**
+   * <p>Transforms an Either&lt;Throwable,T&gt; into a Try&lt;T&gt;, a Left
+   * becoming a Failure and a Right a Success.</p>
+   * @param either  the Either to transform
+   * @param <T>     the type of the right value
+   * @return        an instance of Try&lt;T&gt;
+   */
+  public static <T> Try<T> fromEither(Either<? extends Throwable, ? extends T> either) {
+    if (either instanceof Either.Left)
+      return failure(((Either.Left<? extends Throwable>) either).value);
+    else
+      return success((T) ((Either.Right<?>) (Either<?, ?>) either).value);
+  }
+
+  /**
+   * <p>Transforms a Maybe&lt;T&gt; into a Try&lt;T&gt;, a Just becoming a
+   * Success and Nothing a Failure of the exception supplied.</p>
+   * @param maybe      the Maybe to transform
+   * @param exception  a function that returns the exception for Nothing
+   * @param <T>        the type of the value of the Maybe
+   * @return           an instance of Try&lt;T&gt;
+   */
+  public static <T> Try<T> fromMaybe(Maybe<? extends T> maybe, Supplier<? extends Throwable> exception) {
+    if (maybe instanceof Maybe.Just)
+      return success(((Maybe.Just<? extends T>) maybe).value);
+    else
+      return failure(exception.get());
+  }
+
+  /**
+   * @return  true if this is a Success
+   */
+  public final boolean isSuccess() {
+    return this instanceof Success;
+  }
+
+  /**
+   * @return  true if this is a Failure
+   */
+  public final boolean isFailure() {
+    return this instanceof Failure;
+  }
+
+  /**
+   * <p>Gets the value of this Try&lt;A&gt; or throws a NoSuchElementException,
+   * caused by the exception of the Failure, if this is a Failure.</p>
+   * @return  the value of this Try&lt;A&gt;
+   */
+  public final A get() {
+    if (this instanceof Success)
+      return ((Success<A>) this).value;
+    NoSuchElementException e = new NoSuchElementException("Failure.get()");
+    e.initCause(((Failure) this).exception);
+    throw e;
+  }
+
+  /**
+   * <p>Returns the value of this Try&lt;A&gt; or evaluates the argument
+   * function to return a default value.</p>
+   * @param defaultValue  a function that returns the default value if this was a Failure
+   * @return              the value of this Try or the default value
+   */
+  public final A getOrElse(Supplier<? extends A> defaultValue) {
+    if (this instanceof Success)
+      return ((Success<A>) this).value;
+    else
+      return defaultValue.get();
+  }
+
+  /**
+   * <p>Gets the exception of this Try&lt;A&gt; or throws a
+   * NoSuchElementException if this is a Success.</p>
+   * @return  the exception of this Failure
+   */
+  public final Throwable getException() {
+    if (this instanceof Failure)
+      return ((Failure) this).exception;
+    else
+      throw new NoSuchElementException("Success.getException()");
+  }
+
+  /**
+   * <p>Applies f to the value of a Success. An exception thrown by f becomes
+   * a Failure. A Failure is returned unchanged.</p>
+   * @param f    a function that maps a type A to a type B
+   * @param <B>  the type of the value of the new Try
+   * @return     an instance of Try&lt;B&gt;
+   */
+  public final <B> Try<B> map(CheckedFunction<? super A, ? extends B> f) {
+    if (this instanceof Failure)
+      return (Try<B>) this;
+    try {
+      return success(f.apply(((Success<A>) this).value));
+    } catch (Exception e) {
+      return failure(e);
+    }
+  }
+
+  /**
+   * <p>Applies f to the value of a Success, returning its result. An
+   * exception thrown by f becomes a Failure. A Failure is returned
+   * unchanged.</p>
+   * @param f    a function that maps a type A to a Try&lt;B&gt;
+   * @param <B>  the type of the value of the new Try
+   * @return     an instance of Try&lt;B&gt;
+   */
+  public final <B> Try<B> flatMap(CheckedFunction<? super A, ? extends Try<? extends B>> f) {
+    if (this instanceof Failure)
+      return (Try<B>) this;
+    try {
+      return (Try<B>) f.apply(((Success<A>) this).value);
+    } catch (Exception e) {
+      return failure(e);
+    }
+  }
+
+  /**
+   * <p>Applies f to the exception of a Failure, returning its result as a
+   * Success. An exception thrown by f becomes a Failure. A Success is
+   * returned unchanged.</p>
+   * @param f  a function that maps the exception to a value of type A
+   * @return   an instance of Try&lt;A&gt;
+   */
+  public final Try<A> recover(Function<? super Throwable, ? extends A> f) {
+    if (this instanceof Success)
+      return this;
+    try {
+      return success(f.apply(((Failure) this).exception));
+    } catch (Exception e) {
+      return failure(e);
+    }
+  }
+
+  /**
+   * <p>Applies f to the exception of a Failure, returning its result. An
+   * exception thrown by f becomes a Failure. A Success is returned
+   * unchanged.</p>
+   * @param f  a function that maps the exception to a Try&lt;A&gt;
+   * @return   an instance of Try&lt;A&gt;
+   */
+  public final Try<A> recoverWith(Function<? super Throwable, ? extends Try<A>> f) {
+    if (this instanceof Success)
+      return this;
+    try {
+      return f.apply(((Failure) this).exception);
+    } catch (Exception e) {
+      return failure(e);
+    }
+  }
+
+  /**
+   * @return  the exception of a Failure as a Left or the value of a Success
+   *          as a Right
+   */
+  public final Either<Throwable,A> toEither() {
+    if (this instanceof Success)
+      return Either.right(((Success<A>) this).value).value();
+    else
+      return Either.left(((Failure) this).exception).value();
+  }
+
+  /**
+   * @return  the value of a Success as a Just or Nothing for a Failure
+   */
+  public final Maybe<A> toMaybe() {
+    if (this instanceof Success)
+      return Maybe.apply(((Success<A>) this).value);
+    else
+      return Maybe.nothing();
+  }
+
+  /**
+   * <p>A Supplier that may throw a checked exception.</p>
+   * @param <T>  the type of the result
+   */
+  @FunctionalInterface
+  public interface CheckedSupplier<T> {
+    T get() throws Exception;
+  }
+
+  /**
+   * <p>A Function that may throw a checked exception.</p>
+   * @param <T>  the type of the argument
+   * @param <R>  the type of the result
+   */
+  @FunctionalInterface
+  public interface CheckedFunction<T, R> {
+    R apply(T value) throws Exception;
+  }
+
+  /**
+   * <p>A concrete implementation of Try for computations that returned a
+   * value of type A</p>
+   * @param <A>  the type of the value
+   */
+  static final class Success<A> extends Try<A> {
+    final A value;
+    Success(A value) { this.value = value; }
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      Success<?> success = (Success<?>) o;
+      return value == null ? success.value == null : value.equals(success.value);
+    }
+    @Override public int hashCode() { return value == null ? 0 : value.hashCode(); }
+    @Override public String toString() { return "Success(" + value + ')'; }
+  }
+
+  /**
+   * <p>A concrete implementation of Try for computations that threw.
+   * Failures are equal only if they wrap the same exception.</p>
+   */
+  static final class Failure extends Try<Object> {
+    final Throwable exception;
+    Failure(Throwable exception) { this.exception = exception; }
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      return exception == ((Failure) o).exception;
+    }
+    @Override public int hashCode() { return System.identityHashCode(exception) * 17; }
+    @Override public String toString() { return "Failure(" + exception + ')'; }
+  }
+
+}
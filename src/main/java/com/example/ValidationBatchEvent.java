@@ -0,0 +1,30 @@
+package com.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * <p>A Java Flight Recorder event spanning the validation of a whole batch
+ * of records by Main.checkAll.</p>
+ *
+ * @author Bob Carberry
+ */
+@Name("com.example.ValidationBatch")
+@Label("Validation Batch")
+@Category({"functional-java", "Validation"})
+@Description("A set of requirements applied to a batch of records")
+final class ValidationBatchEvent extends jdk.jfr.Event {
+
+  @Label("Records")
+  int records;
+
+  @Label("Requirements")
+  int requirements;
+
+  @Label("Failed Records")
+  @Description("The number of records that did not meet every requirement")
+  int failed;
+
+}
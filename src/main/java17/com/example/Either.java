@@ -0,0 +1,579 @@
+package com.example;
+
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <p>Either&lt;A,B&gt; is a union of two types A and B.</p>
+ * <p>Either has two concrete types Left and Right.
+ * Left wraps a value of type A while Right wraps a value of type B.</p>
+ * <p>This is the Java 17 variant packaged under META-INF/versions/17. It has
+ * the same public API and equality semantics as the Java 8 variant but is a
+ * sealed hierarchy, so Left and Right are the only possible cases, and it
+ * dispatches with pattern matching instead of instanceof and cast.</p>
+ *
+ * @author Bob Carberry
+ */
+@SuppressWarnings("unchecked")
+public abstract sealed class Either<A, B> permits Either.Left, Either.Right {
+
+
+  // private helper method for creating Left values with inferred types
+  private static <L, R> Either<L, R> lt(L value) {
+    return (Either<L,R>)new Left<L>(value);
+  }
+
+  // private helper method for creating Right values with inferred types
+  private static <L, R> Either<L, R> rt(R value) {
+    return (Either<L,R>)new Right<R>(value);
+  }
+
+  // private helper method for returning a Left as an Either of any right type
+  private static <L, R> Either<L, R> firstLeft(Either<? extends L, ?> left) {
+    return (Either<L,R>) left;
+  }
+
+  /**
+   * <p>Creates a LeftBuilder which can be used to wrap a value as a Left instance
+   * of Either. E.G.</p>
+   * <pre>
+   *   <blockqoute>
+   *     Either&lt;String,Integer&gt; leftText = Either.left("text").value();
+   *     leftText.equals(Either.left("text").or(Integer.class));
+   *   </blockqoute>
+   * </pre>
+   * @param value  the value wrapped as a Left
+   * @param <L>    the type of the wrapped value
+   * @return       a LeftBuilder instance for creating a value wrapped as a Left
+   */
+  public static <L> LeftBuilder<L> left(L value) {
+    return new LeftBuilder<L>(value);
+  }
+
+  /**
+   * <p>Creates a RightBuilder which can be used to wrap a value as a Right instance
+   * of Either. E.G.</p>
+   * <pre>
+   *   <blockqoute>
+   *     Either&lt;String,Integer&gt; leftText = Either.left("text").value();
+   *     leftText.equals(Either.left("text").or(Integer.class));
+   *   </blockqoute>
+   * </pre>
+   * @param value  the value wrapped as a Right
+   * @param <R>    the type of the wrapped value
+   * @return       a RightBuilder instance for creating a walue wrapped as a Right
+   */
+  public static <R> RightBuilder<R> right(R value) {
+    return new RightBuilder<R>(value);
+  }
+
+  /**
+   * <p>Gets the value wrapped by the Either if it is a Left otherwise
+   * it evaluates the Supplier parameter</p>
+   * @param expression  a function that returns a type A
+   * @return            a value of type A. Either the value wrapped by a Left
+   *                    or the result of evaluating the Supplier parameter
+   */
+  public final A getLeftOr(Supplier<A> expression) {
+    if (this instanceof Left<?> left)
+      return (A) left.value;
+    else
+      return expression.get();
+  }
+
+  /**
+   * <p>Gets the value wrapped by the Either if it is a Left otherwise
+   * the RuntimeException parameter gets thrown.</p>
+   * @param re  the RuntimeException to throw if the Either is a Right
+   * @return    the value wrapped by this Either if it is a Left
+   * @throws    RuntimeException if the Either is a Right
+   */
+  public final A getLeftOrThrow(RuntimeException re) throws RuntimeException {
+    if (this instanceof Left<?> left)
+      return (A) left.value;
+    else
+      throw re;
+  }
+
+  /**
+   * <p>Gets the value wrapped by the Either if it is a Right otherwise
+   * it evaluates the Supplier parameter</p>
+   * @param expression  a function that returns a type B
+   * @return            a value of type B. Either the value wrapped by a Right
+   *                    or the result of evaluating the Supplier parameter
+   */
+  public final B getRightOr(Supplier<B> expression) {
+    if (this instanceof Right<?> right)
+      return (B) right.value;
+    else
+      return expression.get();
+  }
+
+  /**
+   * <p>Gets the value wrapped by the Either if it is a Right, otherwise
+   * the RuntimeException parameter gets thrown.</p>
+   * @param re  the RuntimeException to throw if the Either is a Left
+   * @return    the value wrapped by the Either if it is a Right
+   * @throws    RuntimeException if the Either is a Left
+   */
+  public final B getRightOrThrow(RuntimeException re) throws RuntimeException {
+    if (this instanceof Right<?> right)
+      return (B) right.value;
+    else
+      throw re;
+  }
+
+  /**
+   * <p>If the Either is a Right this applies a function f that maps a type
+   * B to a type C to the value of the Right, otherwise the Either is a Left
+   * in which case the Left is returned unchanged.</p>
+   * @param f    a function that maps a type B to a type C
+   * @param <C>  the type that the Right will become
+   * @return     a new Either. If the Either was a Left the new Either is
+   *             unchanged. If the Either was a Right the new Either will
+   *             be a Right with the value of the previous Right applied
+   *             to the function f
+   */
+  public final <C> Either<A,C> map(Function<? super B, ? extends C> f) {
+    if (this instanceof Right<?> right)
+      return rt(f.apply((B) right.value));
+    else
+      return (Either<A,C>) this;
+  }
+
+  /**
+   * <p>If the Either is a Right this applies a function f that maps a type
+   * B to a type Either&lt;A,C&gt; to the value of the Right, returning the
+   * result of the function. Otherwise the Either is a Left, in which case the
+   * Left is returned unchanged.</p>
+   * @param f    a function that maps a type B to a type Either&lt;A,C&gt;
+   * @param <C>  the right type of the new Either
+   * @return     a new Either. If the Either was a Left the new Either is
+   *             unchanged. If the Either was a Right then the new Either
+   *             will be the result of applying f to the value of Right.
+   */
+  public final <C> Either<? super A, ? extends C> flatMap(
+      Function<? super B, ? extends Either<? super A, ? extends C>> f) {
+    if (this instanceof Right<?> right)
+      return f.apply((B) right.value);
+    else
+      return (Either<A,C>) this;
+  }
+
+  /**
+   * <p>Applies one of two functions to this either.</p>
+   * <p>If this is a Left function f gets applied to the Left value.
+   * If this is a Right function g gets applied to the Right value.
+   * In either case the value is returned as a properly typed Either.</p>
+   * @param f    a function that maps a type A to a type C
+   * @param g    a function that maps a type B to a type D
+   * @param <C>  the left type of the new Either
+   * @param <D>  the right type fo the new Either
+   * @return     a new Either with either f or g applied to the value
+   *             that the Either wraps
+   */
+  public final <C,D> Either<C,D> fold(
+      Function<? super A, ? extends C> f,
+      Function<? super B, ? extends D> g) {
+    if (this instanceof Left<?> left)
+      return lt(f.apply((A) left.value));
+    else
+      return rt(g.apply((B) ((Right<?>) this).value));
+  }
+
+  /**
+   * <p>Combines this Either with another Either using f if both are Right,
+   * otherwise returns this if it is a Left or else other. The same as
+   * Either.map2(this, other, f).</p>
+   * @param other  the Either to combine with this one
+   * @param f      the function to apply to both right values
+   * @param <C>    the right type of other
+   * @param <D>    the type of the result of f
+   * @return       Right the result of f or the first Left
+   */
+  public final <C, D> Either<A,D> zip(
+      Either<? extends A, ? extends C> other, BiFunction<? super B, ? super C, ? extends D> f) {
+    return map2(this, other, f);
+  }
+
+  /**
+   * <p>Applies f to the values of two Eithers if both are Right, otherwise
+   * returns the first Left without calling f. Only the resulting Right is
+   * allocated, unlike the equivalent nested flatMap and map. E.G.</p>
+   * <pre>
+   *   <blockqoute>
+   *     Either&lt;String,String&gt; fullName = Either.map2(first, last, (x, y) -&gt; x + ' ' + y);
+   *   </blockqoute>
+   * </pre>
+   * @param ea   an Either with right type A
+   * @param eb   an Either with right type B
+   * @param f    the function to apply to the right values
+   * @param <L>  the left type
+   * @param <A>  the right type of ea
+   * @param <B>  the right type of eb
+   * @param <R>  the type of the result of f
+   * @return     Right the result of f or the first Left
+   */
+  public static <L, A, B, R> Either<L,R> map2(
+      Either<? extends L, ? extends A> ea, Either<? extends L, ? extends B> eb,
+      BiFunction<? super A, ? super B, ? extends R> f) {
+    if (ea instanceof Right<?> rightA
+        && eb instanceof Right<?> rightB)
+      return rt(f.apply((A) rightA.value, (B) rightB.value));
+    else
+      return firstLeft(ea instanceof Left ? ea : eb);
+  }
+
+  /**
+   * <p>Applies f to the values of three Eithers if all are Right, otherwise
+   * returns the first Left, in argument order, without calling f.</p>
+   * @param ea   an Either with right type A
+   * @param eb   an Either with right type B
+   * @param ec   an Either with right type C
+   * @param f    the function to apply to the right values
+   * @param <L>  the left type
+   * @param <A>  the right type of ea
+   * @param <B>  the right type of eb
+   * @param <C>  the right type of ec
+   * @param <R>  the type of the result of f
+   * @return     Right the result of f or the first Left
+   */
+  public static <L, A, B, C, R> Either<L,R> map3(
+      Either<? extends L, ? extends A> ea,
+      Either<? extends L, ? extends B> eb,
+      Either<? extends L, ? extends C> ec,
+      Function3<? super A, ? super B, ? super C, ? extends R> f) {
+    if (ea instanceof Right<?> rightA
+        && eb instanceof Right<?> rightB
+        && ec instanceof Right<?> rightC)
+      return rt(f.apply((A) rightA.value, (B) rightB.value, (C) rightC.value));
+    else
+      return firstLeft(ea instanceof Left ? ea : eb instanceof Left ? eb : ec);
+  }
+
+  /**
+   * <p>Applies f to the values of four Eithers if all are Right, otherwise
+   * returns the first Left, in argument order, without calling f.</p>
+   * @param ea   an Either with right type A
+   * @param eb   an Either with right type B
+   * @param ec   an Either with right type C
+   * @param ed   an Either with right type D
+   * @param f    the function to apply to the right values
+   * @param <L>  the left type
+   * @param <A>  the right type of ea
+   * @param <B>  the right type of eb
+   * @param <C>  the right type of ec
+   * @param <D>  the right type of ed
+   * @param <R>  the type of the result of f
+   * @return     Right the result of f or the first Left
+   */
+  public static <L, A, B, C, D, R> Either<L,R> map4(
+      Either<? extends L, ? extends A> ea,
+      Either<? extends L, ? extends B> eb,
+      Either<? extends L, ? extends C> ec,
+      Either<? extends L, ? extends D> ed,
+      Function4<? super A, ? super B, ? super C, ? super D, ? extends R> f) {
+    if (ea instanceof Right<?> rightA
+        && eb instanceof Right<?> rightB
+        && ec instanceof Right<?> rightC
+        && ed instanceof Right<?> rightD)
+      return rt(f.apply((A) rightA.value, (B) rightB.value, (C) rightC.value, (D) rightD.value));
+    else
+      return firstLeft(ea instanceof Left ? ea : eb instanceof Left ? eb : ec instanceof Left ? ec : ed);
+  }
+
+  /**
+   * <p>Applies f to the values of five Eithers if all are Right, otherwise
+   * returns the first Left, in argument order, without calling f.</p>
+   * @param ea   an Either with right type A
+   * @param eb   an Either with right type B
+   * @param ec   an Either with right type C
+   * @param ed   an Either with right type D
+   * @param ee   an Either with right type E
+   * @param f    the function to apply to the right values
+   * @param <L>  the left type
+   * @param <A>  the right type of ea
+   * @param <B>  the right type of eb
+   * @param <C>  the right type of ec
+   * @param <D>  the right type of ed
+   * @param <E>  the right type of ee
+   * @param <R>  the type of the result of f
+   * @return     Right the result of f or the first Left
+   */
+  public static <L, A, B, C, D, E, R> Either<L,R> map5(
+      Either<? extends L, ? extends A> ea,
+      Either<? extends L, ? extends B> eb,
+      Either<? extends L, ? extends C> ec,
+      Either<? extends L, ? extends D> ed,
+      Either<? extends L, ? extends E> ee,
+      Function5<? super A, ? super B, ? super C, ? super D, ? super E, ? extends R> f) {
+    if (ea instanceof Right<?> rightA
+        && eb instanceof Right<?> rightB
+        && ec instanceof Right<?> rightC
+        && ed instanceof Right<?> rightD
+        && ee instanceof Right<?> rightE)
+      return rt(f.apply((A) rightA.value, (B) rightB.value, (C) rightC.value, (D) rightD.value, (E) rightE.value));
+    else
+      return firstLeft(ea instanceof Left ? ea : eb instanceof Left ? eb : ec instanceof Left ? ec : ed instanceof Left ? ed : ee);
+  }
+
+  /**
+   * <p>Applies f to the values of six Eithers if all are Right, otherwise
+   * returns the first Left, in argument order, without calling f.</p>
+   * @param ea   an Either with right type A
+   * @param eb   an Either with right type B
+   * @param ec   an Either with right type C
+   * @param ed   an Either with right type D
+   * @param ee   an Either with right type E
+   * @param ef   an Either with right type F
+   * @param f    the function to apply to the right values
+   * @param <L>  the left type
+   * @param <A>  the right type of ea
+   * @param <B>  the right type of eb
+   * @param <C>  the right type of ec
+   * @param <D>  the right type of ed
+   * @param <E>  the right type of ee
+   * @param <F>  the right type of ef
+   * @param <R>  the type of the result of f
+   * @return     Right the result of f or the first Left
+   */
+  public static <L, A, B, C, D, E, F, R> Either<L,R> map6(
+      Either<? extends L, ? extends A> ea,
+      Either<? extends L, ? extends B> eb,
+      Either<? extends L, ? extends C> ec,
+      Either<? extends L, ? extends D> ed,
+      Either<? extends L, ? extends E> ee,
+      Either<? extends L, ? extends F> ef,
+      Function6<? super A, ? super B, ? super C, ? super D, ? super E, ? super F, ? extends R> f) {
+    if (ea instanceof Right<?> rightA
+        && eb instanceof Right<?> rightB
+        && ec instanceof Right<?> rightC
+        && ed instanceof Right<?> rightD
+        && ee instanceof Right<?> rightE
+        && ef instanceof Right<?> rightF)
+      return rt(f.apply((A) rightA.value, (B) rightB.value, (C) rightC.value, (D) rightD.value, (E) rightE.value, (F) rightF.value));
+    else
+      return firstLeft(ea instanceof Left ? ea : eb instanceof Left ? eb : ec instanceof Left ? ec : ed instanceof Left ? ed : ee instanceof Left ? ee : ef);
+  }
+
+  /**
+   * <p>Applies f to the values of seven Eithers if all are Right, otherwise
+   * returns the first Left, in argument order, without calling f.</p>
+   * @param ea   an Either with right type A
+   * @param eb   an Either with right type B
+   * @param ec   an Either with right type C
+   * @param ed   an Either with right type D
+   * @param ee   an Either with right type E
+   * @param ef   an Either with right type F
+   * @param eg   an Either with right type G
+   * @param f    the function to apply to the right values
+   * @param <L>  the left type
+   * @param <A>  the right type of ea
+   * @param <B>  the right type of eb
+   * @param <C>  the right type of ec
+   * @param <D>  the right type of ed
+   * @param <E>  the right type of ee
+   * @param <F>  the right type of ef
+   * @param <G>  the right type of eg
+   * @param <R>  the type of the result of f
+   * @return     Right the result of f or the first Left
+   */
+  public static <L, A, B, C, D, E, F, G, R> Either<L,R> map7(
+      Either<? extends L, ? extends A> ea,
+      Either<? extends L, ? extends B> eb,
+      Either<? extends L, ? extends C> ec,
+      Either<? extends L, ? extends D> ed,
+      Either<? extends L, ? extends E> ee,
+      Either<? extends L, ? extends F> ef,
+      Either<? extends L, ? extends G> eg,
+      Function7<? super A, ? super B, ? super C, ? super D, ? super E, ? super F, ? super G, ? extends R> f) {
+    if (ea instanceof Right<?> rightA
+        && eb instanceof Right<?> rightB
+        && ec instanceof Right<?> rightC
+        && ed instanceof Right<?> rightD
+        && ee instanceof Right<?> rightE
+        && ef instanceof Right<?> rightF
+        && eg instanceof Right<?> rightG)
+      return rt(f.apply((A) rightA.value, (B) rightB.value, (C) rightC.value, (D) rightD.value, (E) rightE.value, (F) rightF.value, (G) rightG.value));
+    else
+      return firstLeft(ea instanceof Left ? ea : eb instanceof Left ? eb : ec instanceof Left ? ec : ed instanceof Left ? ed : ee instanceof Left ? ee : ef instanceof Left ? ef : eg);
+  }
+
+  /**
+   * <p>Applies f to the values of eight Eithers if all are Right, otherwise
+   * returns the first Left, in argument order, without calling f.</p>
+   * @param ea   an Either with right type A
+   * @param eb   an Either with right type B
+   * @param ec   an Either with right type C
+   * @param ed   an Either with right type D
+   * @param ee   an Either with right type E
+   * @param ef   an Either with right type F
+   * @param eg   an Either with right type G
+   * @param eh   an Either with right type H
+   * @param f    the function to apply to the right values
+   * @param <L>  the left type
+   * @param <A>  the right type of ea
+   * @param <B>  the right type of eb
+   * @param <C>  the right type of ec
+   * @param <D>  the right type of ed
+   * @param <E>  the right type of ee
+   * @param <F>  the right type of ef
+   * @param <G>  the right type of eg
+   * @param <H>  the right type of eh
+   * @param <R>  the type of the result of f
+   * @return     Right the result of f or the first Left
+   */
+  public static <L, A, B, C, D, E, F, G, H, R> Either<L,R> map8(
+      Either<? extends L, ? extends A> ea,
+      Either<? extends L, ? extends B> eb,
+      Either<? extends L, ? extends C> ec,
+      Either<? extends L, ? extends D> ed,
+      Either<? extends L, ? extends E> ee,
+      Either<? extends L, ? extends F> ef,
+      Either<? extends L, ? extends G> eg,
+      Either<? extends L, ? extends H> eh,
+      Function8<? super A, ? super B, ? super C, ? super D, ? super E, ? super F, ? super G, ? super H, ? extends R> f) {
+    if (ea instanceof Right<?> rightA
+        && eb instanceof Right<?> rightB
+        && ec instanceof Right<?> rightC
+        && ed instanceof Right<?> rightD
+        && ee instanceof Right<?> rightE
+        && ef instanceof Right<?> rightF
+        && eg instanceof Right<?> rightG
+        && eh instanceof Right<?> rightH)
+      return rt(f.apply((A) rightA.value, (B) rightB.value, (C) rightC.value, (D) rightD.value, (E) rightE.value, (F) rightF.value, (G) rightG.value, (H) rightH.value));
+    else
+      return firstLeft(ea instanceof Left ? ea : eb instanceof Left ? eb : ec instanceof Left ? ec : ed instanceof Left ? ed : ee instanceof Left ? ee : ef instanceof Left ? ef : eg instanceof Left ? eg : eh);
+  }
+
+  /**
+   * <p>Left is a concrete implementation of Either that contains
+   * a value of type A.</p>
+   * @param <A>  the type of value the Left contains
+   */
+  static final class Left<A> extends Either<A, Object> {
+    final A value;
+    Left(A value) {
+      this.value = value;
+    }
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      return o instanceof Left<?> left && value.equals(left.value);
+    }
+    @Override
+    public int hashCode() {
+      return value.hashCode() * 17;
+    }
+  }
+
+  /**
+   * <p>Right is a concrete implementation of Either that contains
+   * a value of type B</p>
+   * @param <B>  the type of value the Right contains
+   */
+  static final class Right<B> extends Either<Object, B> {
+    final B value;
+    public Right(B value) {
+      this.value = value;
+    }
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      return o instanceof Right<?> right && value.equals(right.value);
+    }
+    @Override
+    public int hashCode() {
+      return value.hashCode();
+    }
+  }
+
+  /**
+   * <p>A builder class for creating properly typed instances of a Left Either.</p>
+   * <p>Use the value() instance method where possible but there is also an or instance
+   * method that allows the right type to be explicitly specified in cases where type
+   * inference doesn't work. E.G.</p>
+   * <pre>
+   *   <blockqoute>
+   *     Either&lt;String,Integer&gt; stringOrInteger = Either.left("string").value();
+   *     Either.left("string")
+   *           .or(Integer.class)
+   *           .map(Function.&lt;Integer&gt;identity())
+   *           .equals(stringOrInteger); // == true
+   *   </blockqoute>
+   * </pre>
+   * @param <A>  the type of the value Left that will wrap
+   */
+  public static final class LeftBuilder<A> {
+    private final A value;
+    private LeftBuilder(A value) {
+      this.value = value;
+    }
+
+    /**
+     * <p>Returns a Left as a properly typed Either.</p>
+     * @param <B>  the type of the right
+     * @return     a Left as a properly typed Either
+     */
+    public <B> Either<A,B> value() {
+      return lt(value);
+    }
+
+    /**
+     * <p>Returns a Left as a properly typed Either.</p>
+     * <p>A hint for the right type can be passed to this
+     * method.</p>
+     * @param hint  the class of desired right type
+     * @param <B>   the right type
+     * @return      a Left as a properly typed Either
+     */
+    public <B> Either<A,B> or(Class<? extends B> hint) {
+      return lt(value);
+    }
+  }
+
+  /**
+   * <p>A builder class for creating properly typed instances of a Right Either.</p>
+   * <p>Use the value() instance method where possible but there is also an or instance
+   * method that allows the left type to be explicitly specified in cases where type
+   * inference doesn't work. E.G.</p>
+   * <pre>
+   *   <blockqoute>
+   *     Either&lt;String,Integer&gt; stringOrInteger = Either.right(1).value();
+   *     Either.right(1)
+   *           .or(String.class)
+   *           .map(Function.&lt;Integer&gt;identity())
+   *           .equals(stringOrInteger); // == true
+   *   </blockqoute>
+   * </pre>
+   * @param <B>  the right type
+   */
+  public static final class RightBuilder<B> {
+    private final B value;
+    private RightBuilder(B value) {
+      this.value = value;
+    }
+
+    /**
+     * <p>Returns a Right as a properly typed Either.</p>
+     * @param <A>  the left type
+     * @return     a Right as a properly typed Either
+     */
+    public <A> Either<A,B> value() {
+      return rt(value);
+    }
+
+    /**
+     * <p>Returns a Right as a properly typed Either.</p>
+     * @param hint  the class of the desired left type
+     * @param <A>   the left type
+     * @return      a Right as a properly typed Either
+     */
+    public <A> Either<A,B> or(Class<? extends A> hint) {
+      return rt(value);
+    }
+  }
+
+}
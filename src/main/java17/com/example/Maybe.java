@@ -0,0 +1,420 @@
+package com.example;
+
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <p>Maybe&lt;A&gt; wraps a value of type A</p>
+ * <p>This is the Java 17 variant packaged under META-INF/versions/17. It has
+ * the same public API and equality semantics as the Java 8 variant but is a
+ * sealed hierarchy, so Just and Nothing are the only possible cases, and it
+ * dispatches with pattern matching instead of instanceof and cast.</p>
+ *
+ * @author Bob Carberry
+ */
+public abstract sealed class Maybe<A> permits Maybe.Just, Maybe.Nothing {
+
+  /**
+   * <p>Returns a Maybe&lt;A&gt; that is an instance
+   * of Nothing</p>
+   * @param <T> the type of the Maybe expression
+   * @return an instance of Nothing as a Maybe&lt;A&gt;
+   */
+  public static <T> Maybe<T> nothing() { return (Maybe<T>) NOTHING; }
+
+  /**
+   * <p>Wraps any non null argument as an instance of Just&lt;A&gt;
+   * and any null argument as an instance of Nothing.</p>
+   * @param value  the value to wrap as a Maybe&lt;A&gt;
+   * @param <T>    the type of the underlying value
+   * @return       an instance of Maybe&lt;A&gt;
+   */
+  public static <T> Maybe<T> apply(T value) {
+    if (value == null)
+      return nothing();
+    else
+      return just(value);
+  }
+
+  /**
+   * <p>Gets the underlying value of this Maybe&lt;A&gt;
+   * or throws a NoSuchElement exception if this is a Nothing.</p>
+   * @return  the underlying value of this Maybe&lt;A&gt;
+   */
+  public A get() {
+    if (this instanceof Just<A> just)
+      return just.value;
+    else
+      throw new NoSuchElementException("Nothing.get()");
+  }
+
+  /**
+   * <p>Returns the underlying value of this Maybe&lt;A&gt;
+   * or evaluates the argument function to return a default value.</p>
+   * @param defaultValue  a function that returns the default value if this was Nothing
+   * @return              a value of type A. Either the value wrapped by this Maybe or
+   *                      the result of evaluating the default value.
+   */
+  public A getOrElse(Supplier<? extends A> defaultValue) {
+    if (this instanceof Just<A> just)
+      return just.value;
+    else
+      return defaultValue.get();
+  }
+
+  /**
+   * <p>Applies a function that maps a value of type A to type B to
+   * the value contained within this Maybe&lt;A&gt; tranforming it
+   * into a Maybe&lt;B&gt;</p>
+   * @param f    the function that will be applied to the value of this Maybe
+   * @param <B>  the target type or CoDomain of the function f
+   * @return     an instance of Maybe&lt;B&gt;
+   */
+  public <B> Maybe<B> map(Function<? super A, ? extends B> f) {
+    if (this instanceof Just<A> just)
+      return just(f.apply(just.value));
+    else
+      return nothing();
+  }
+
+  /**
+   * <p>Applies a function that maps a value of type A to type Maybe&lt;B&gt;
+   * to the value contained within this Maybe&lt;A&gt; transforming it
+   * into a Maybe&lt;B&gt;</p>
+   * @param f    the function that will be applied to the value of this Maybe
+   * @param <B>  the target type or CoDomain of the value returned as a Maybe by function f
+   * @return     an instance of Maybe&lt;B&gt;
+   */
+  public <B> Maybe<? extends B> flatMap(Function<? super A, ? extends Maybe<? extends B>> f) {
+    if (this instanceof Just<A> just)
+      return f.apply(just.value);
+    else
+      return nothing();
+  }
+
+  /**
+   * <p>Transforms the contents of this Maybe&lt;A&gt; to an Either&lt;A,B&gt;
+   * such that if this instance was an instance of Just&lt;A&gt; containing a
+   * value of type a the instance returned will be Left&lt;A&gt;. Otherwise,
+   * the function parameter will be evaluated to return a default value of type
+   * B that will be returned as an instance of Right&lt;B&gt;.</p>
+   * @param rightValue  the function that will provide a default value of type B
+   * @param <B>         the type of the default value
+   * @return            an instance of Either&lt;A,B&gt; that will be either
+   *                    Left(a) or Right(b) where a is the content of Maybe(a)
+   *                    and b is the result of evaluating rightValue.apply()
+   */
+  public <B> Either<A,B> toLeft(Supplier<B> rightValue) {
+    if (this instanceof Just<A> just)
+      return Either.left(just.value).value();
+    else
+      return Either.right(rightValue.get()).value();
+  }
+
+  /**
+   * <p>Transforms the contents of this Maybe&lt;A&gt; to an Either&lt;A,B&gt;
+   * such that if this instance was an instance of Just&lt;A&gt; containing a
+   * value of type a the instance returned will be Right&lt;A&gt;. Otherwise,
+   * the function parameter will be evaluated to return a default value of type
+   * B that will be returned as an instance of Left&lt;B&gt;.</p>
+   * @param leftValue  the function that will provide a default value of type B
+   * @param <B>         the type of the default value
+   * @return            an instance of Either&lt;A,B&gt; that will be either
+   *                    Left(b) or Right(a) where a is the content of Maybe(a)
+   *                    and b is the result of evaluating leftValue.apply()
+   */
+  public <B> Either<B,A> toRight(Supplier<B> leftValue) {
+    if (this instanceof Just<A> just)
+      return Either.right(just.value).value();
+    else
+      return Either.left(leftValue.get()).value();
+  }
+
+  /**
+   * <p>Combines this Maybe&lt;A&gt; with another Maybe using f if both are
+   * Just, otherwise returns Nothing. The same as Maybe.map2(this, other, f).</p>
+   * @param other  the Maybe to combine with this one
+   * @param f      the function to apply to both values
+   * @param <B>    the type of the value of other
+   * @param <C>    the type of the result of f
+   * @return       Just the result of f or Nothing
+   */
+  public <B, C> Maybe<C> zip(Maybe<? extends B> other, BiFunction<? super A, ? super B, ? extends C> f) {
+    return map2(this, other, f);
+  }
+
+  /**
+   * <p>Applies f to the values of two Maybes if both are Just, otherwise
+   * returns Nothing without calling f. Only the resulting Just is
+   * allocated, unlike the equivalent nested flatMap and map. E.G.</p>
+   * <pre>
+   *   <blockqoute>
+   *     Maybe&lt;String&gt; fullName = Maybe.map2(first, last, (x, y) -&gt; x + ' ' + y);
+   *   </blockqoute>
+   * </pre>
+   * @param ma   a Maybe&lt;A&gt;
+   * @param mb   a Maybe&lt;B&gt;
+   * @param f    the function to apply to the values
+   * @param <A>  the type of the value of ma
+   * @param <B>  the type of the value of mb
+   * @param <R>  the type of the result of f
+   * @return     Just the result of f or Nothing
+   */
+  public static <A, B, R> Maybe<R> map2(Maybe<? extends A> ma, Maybe<? extends B> mb,
+      BiFunction<? super A, ? super B, ? extends R> f) {
+    if (ma instanceof Just<? extends A> justA
+        && mb instanceof Just<? extends B> justB)
+      return just(f.apply(justA.value, justB.value));
+    else
+      return nothing();
+  }
+
+  /**
+   * <p>Applies f to the values of three Maybes if all are Just, otherwise
+   * returns Nothing without calling f.</p>
+   * @param ma   a Maybe&lt;A&gt;
+   * @param mb   a Maybe&lt;B&gt;
+   * @param mc   a Maybe&lt;C&gt;
+   * @param f    the function to apply to the values
+   * @param <A>  the type of the value of ma
+   * @param <B>  the type of the value of mb
+   * @param <C>  the type of the value of mc
+   * @param <R>  the type of the result of f
+   * @return     Just the result of f or Nothing
+   */
+  public static <A, B, C, R> Maybe<R> map3(Maybe<? extends A> ma, Maybe<? extends B> mb, Maybe<? extends C> mc,
+      Function3<? super A, ? super B, ? super C, ? extends R> f) {
+    if (ma instanceof Just<? extends A> justA
+        && mb instanceof Just<? extends B> justB
+        && mc instanceof Just<? extends C> justC)
+      return just(f.apply(justA.value, justB.value, justC.value));
+    else
+      return nothing();
+  }
+
+  /**
+   * <p>Applies f to the values of four Maybes if all are Just, otherwise
+   * returns Nothing without calling f.</p>
+   * @param ma   a Maybe&lt;A&gt;
+   * @param mb   a Maybe&lt;B&gt;
+   * @param mc   a Maybe&lt;C&gt;
+   * @param md   a Maybe&lt;D&gt;
+   * @param f    the function to apply to the values
+   * @param <A>  the type of the value of ma
+   * @param <B>  the type of the value of mb
+   * @param <C>  the type of the value of mc
+   * @param <D>  the type of the value of md
+   * @param <R>  the type of the result of f
+   * @return     Just the result of f or Nothing
+   */
+  public static <A, B, C, D, R> Maybe<R> map4(
+      Maybe<? extends A> ma,
+      Maybe<? extends B> mb,
+      Maybe<? extends C> mc,
+      Maybe<? extends D> md,
+      Function4<? super A, ? super B, ? super C, ? super D, ? extends R> f) {
+    if (ma instanceof Just<? extends A> justA
+        && mb instanceof Just<? extends B> justB
+        && mc instanceof Just<? extends C> justC
+        && md instanceof Just<? extends D> justD)
+      return just(f.apply(justA.value, justB.value, justC.value, justD.value));
+    else
+      return nothing();
+  }
+
+  /**
+   * <p>Applies f to the values of five Maybes if all are Just, otherwise
+   * returns Nothing without calling f.</p>
+   * @param ma   a Maybe&lt;A&gt;
+   * @param mb   a Maybe&lt;B&gt;
+   * @param mc   a Maybe&lt;C&gt;
+   * @param md   a Maybe&lt;D&gt;
+   * @param me   a Maybe&lt;E&gt;
+   * @param f    the function to apply to the values
+   * @param <A>  the type of the value of ma
+   * @param <B>  the type of the value of mb
+   * @param <C>  the type of the value of mc
+   * @param <D>  the type of the value of md
+   * @param <E>  the type of the value of me
+   * @param <R>  the type of the result of f
+   * @return     Just the result of f or Nothing
+   */
+  public static <A, B, C, D, E, R> Maybe<R> map5(
+      Maybe<? extends A> ma,
+      Maybe<? extends B> mb,
+      Maybe<? extends C> mc,
+      Maybe<? extends D> md,
+      Maybe<? extends E> me,
+      Function5<? super A, ? super B, ? super C, ? super D, ? super E, ? extends R> f) {
+    if (ma instanceof Just<? extends A> justA
+        && mb instanceof Just<? extends B> justB
+        && mc instanceof Just<? extends C> justC
+        && md instanceof Just<? extends D> justD
+        && me instanceof Just<? extends E> justE)
+      return just(f.apply(justA.value, justB.value, justC.value, justD.value, justE.value));
+    else
+      return nothing();
+  }
+
+  /**
+   * <p>Applies f to the values of six Maybes if all are Just, otherwise
+   * returns Nothing without calling f.</p>
+   * @param ma   a Maybe&lt;A&gt;
+   * @param mb   a Maybe&lt;B&gt;
+   * @param mc   a Maybe&lt;C&gt;
+   * @param md   a Maybe&lt;D&gt;
+   * @param me   a Maybe&lt;E&gt;
+   * @param mf   a Maybe&lt;F&gt;
+   * @param f    the function to apply to the values
+   * @param <A>  the type of the value of ma
+   * @param <B>  the type of the value of mb
+   * @param <C>  the type of the value of mc
+   * @param <D>  the type of the value of md
+   * @param <E>  the type of the value of me
+   * @param <F>  the type of the value of mf
+   * @param <R>  the type of the result of f
+   * @return     Just the result of f or Nothing
+   */
+  public static <A, B, C, D, E, F, R> Maybe<R> map6(
+      Maybe<? extends A> ma,
+      Maybe<? extends B> mb,
+      Maybe<? extends C> mc,
+      Maybe<? extends D> md,
+      Maybe<? extends E> me,
+      Maybe<? extends F> mf,
+      Function6<? super A, ? super B, ? super C, ? super D, ? super E, ? super F, ? extends R> f) {
+    if (ma instanceof Just<? extends A> justA
+        && mb instanceof Just<? extends B> justB
+        && mc instanceof Just<? extends C> justC
+        && md instanceof Just<? extends D> justD
+        && me instanceof Just<? extends E> justE
+        && mf instanceof Just<? extends F> justF)
+      return just(f.apply(justA.value, justB.value, justC.value, justD.value, justE.value, justF.value));
+    else
+      return nothing();
+  }
+
+  /**
+   * <p>Applies f to the values of seven Maybes if all are Just, otherwise
+   * returns Nothing without calling f.</p>
+   * @param ma   a Maybe&lt;A&gt;
+   * @param mb   a Maybe&lt;B&gt;
+   * @param mc   a Maybe&lt;C&gt;
+   * @param md   a Maybe&lt;D&gt;
+   * @param me   a Maybe&lt;E&gt;
+   * @param mf   a Maybe&lt;F&gt;
+   * @param mg   a Maybe&lt;G&gt;
+   * @param f    the function to apply to the values
+   * @param <A>  the type of the value of ma
+   * @param <B>  the type of the value of mb
+   * @param <C>  the type of the value of mc
+   * @param <D>  the type of the value of md
+   * @param <E>  the type of the value of me
+   * @param <F>  the type of the value of mf
+   * @param <G>  the type of the value of mg
+   * @param <R>  the type of the result of f
+   * @return     Just the result of f or Nothing
+   */
+  public static <A, B, C, D, E, F, G, R> Maybe<R> map7(
+      Maybe<? extends A> ma,
+      Maybe<? extends B> mb,
+      Maybe<? extends C> mc,
+      Maybe<? extends D> md,
+      Maybe<? extends E> me,
+      Maybe<? extends F> mf,
+      Maybe<? extends G> mg,
+      Function7<? super A, ? super B, ? super C, ? super D, ? super E, ? super F, ? super G, ? extends R> f) {
+    if (ma instanceof Just<? extends A> justA
+        && mb instanceof Just<? extends B> justB
+        && mc instanceof Just<? extends C> justC
+        && md instanceof Just<? extends D> justD
+        && me instanceof Just<? extends E> justE
+        && mf instanceof Just<? extends F> justF
+        && mg instanceof Just<? extends G> justG)
+      return just(f.apply(justA.value, justB.value, justC.value, justD.value, justE.value, justF.value, justG.value));
+    else
+      return nothing();
+  }
+
+  /**
+   * <p>Applies f to the values of eight Maybes if all are Just, otherwise
+   * returns Nothing without calling f.</p>
+   * @param ma   a Maybe&lt;A&gt;
+   * @param mb   a Maybe&lt;B&gt;
+   * @param mc   a Maybe&lt;C&gt;
+   * @param md   a Maybe&lt;D&gt;
+   * @param me   a Maybe&lt;E&gt;
+   * @param mf   a Maybe&lt;F&gt;
+   * @param mg   a Maybe&lt;G&gt;
+   * @param mh   a Maybe&lt;H&gt;
+   * @param f    the function to apply to the values
+   * @param <A>  the type of the value of ma
+   * @param <B>  the type of the value of mb
+   * @param <C>  the type of the value of mc
+   * @param <D>  the type of the value of md
+   * @param <E>  the type of the value of me
+   * @param <F>  the type of the value of mf
+   * @param <G>  the type of the value of mg
+   * @param <H>  the type of the value of mh
+   * @param <R>  the type of the result of f
+   * @return     Just the result of f or Nothing
+   */
+  public static <A, B, C, D, E, F, G, H, R> Maybe<R> map8(
+      Maybe<? extends A> ma,
+      Maybe<? extends B> mb,
+      Maybe<? extends C> mc,
+      Maybe<? extends D> md,
+      Maybe<? extends E> me,
+      Maybe<? extends F> mf,
+      Maybe<? extends G> mg,
+      Maybe<? extends H> mh,
+      Function8<? super A, ? super B, ? super C, ? super D, ? super E, ? super F, ? super G, ? super H, ? extends R> f) {
+    if (ma instanceof Just<? extends A> justA
+        && mb instanceof Just<? extends B> justB
+        && mc instanceof Just<? extends C> justC
+        && md instanceof Just<? extends D> justD
+        && me instanceof Just<? extends E> justE
+        && mf instanceof Just<? extends F> justF
+        && mg instanceof Just<? extends G> justG
+        && mh instanceof Just<? extends H> justH)
+      return just(f.apply(justA.value, justB.value, justC.value, justD.value, justE.value, justF.value, justG.value, justH.value));
+    else
+      return nothing();
+  }
+
+  /**
+   * <p>A concrete implementation of Maybe for values that exist and
+   * contain a value of type A</p>
+   * @param <A>  the type of the value contained by this Just instance
+   */
+  static final class Just<A> extends Maybe<A> {
+    final A value;
+    Just(A value) { this.value = value; }
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      return o instanceof Just<?> just && value.equals(just.value);
+    }
+    @Override public int hashCode() { return value.hashCode(); }
+    @Override public String toString() { return "Just("+value+')'; }
+  }
+  private static <T> Maybe<T> just(T value) { return new Just<T>(value); }
+
+  /**
+   * <p>A concrete implementation of Maybe for values that don't exist
+   * and as such don't contain anything</p>
+   */
+  static final class Nothing extends Maybe<Object> {
+    private Nothing() {}
+    @Override public String toString() { return "Nothing"; }
+  }
+
+  /*
+   * A shared instance of Nothing that can be obtained with better
+   * type inference using the static Maybe.nothing() method
+   */
+  private static final Nothing NOTHING = new Nothing();
+
+}
@@ -0,0 +1,149 @@
+package com.example;
+
+import com.example.Main.Gender;
+import com.example.Main.Person;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * <p>Class for testing the allocation and latency budgets of the hot methods
+ * of Maybe, Either, CompiledRequirements and Interner</p>
+ * <p>Budgets are in bytes per call, counted in Allocations.OBJECT sized
+ * wrappers. The latency budget only catches gross regressions, since test
+ * machines vary too much for anything tighter.</p>
+ */
+@RunWith(JUnit4.class)
+public class AllocationSpec {
+
+  private static final double NANOS_PER_OP = 1000;
+  // allows for the few bytes the measurement itself may allocate
+  private static final double SLACK = 0.5;
+
+  private static final Function<String, String> identity = s -> s;
+  private static final Maybe<String> justText = Maybe.apply("text");
+  private static final Maybe<String> nothing = Maybe.nothing();
+  private static final Either<String, String> rightText = Either.right("text").value();
+  private static final Either<String, String> leftText = Either.left("text").value();
+  private static final Function<String, Maybe<String>> toJust = s -> justText;
+  private static final Function<String, Either<String, String>> toRight = s -> rightText;
+
+  @Before
+  public void requireAllocationCounters() {
+    Assume.assumeTrue("per-thread allocation counters are supported", Allocations.supported());
+  }
+
+  private static void assertBudget(String operation, long objects, Supplier<?> op) {
+    Allocations measured = Allocations.of(op);
+    double budget = objects * Allocations.OBJECT + SLACK;
+    Assert.assertTrue(operation + " allocates at most " + objects + " objects, was " + measured,
+        measured.bytesPerOp() <= budget);
+    Assert.assertTrue(operation + " takes under " + NANOS_PER_OP + " ns, was " + measured,
+        measured.nanosPerOp() < NANOS_PER_OP);
+  }
+
+  @Test
+  public void maybeApplyAllocatesOneJust() {
+    assertBudget("Maybe.apply(value)", 1, () -> Maybe.apply("text"));
+    assertBudget("Maybe.apply(null)", 0, () -> Maybe.apply(null));
+  }
+
+  @Test
+  public void maybeMapAllocatesOnlyTheResult() {
+    assertBudget("Just.map(f)", 1, () -> justText.map(identity));
+    assertBudget("Nothing.map(f)", 0, () -> nothing.map(identity));
+  }
+
+  @Test
+  public void maybeFlatMapAllocatesNothing() {
+    assertBudget("Just.flatMap(f)", 0, () -> justText.flatMap(toJust));
+    assertBudget("Nothing.flatMap(f)", 0, () -> nothing.flatMap(toJust));
+  }
+
+  @Test
+  public void maybeGetOrElseAllocatesNothing() {
+    assertBudget("Just.getOrElse(s)", 0, () -> justText.getOrElse(() -> "default"));
+    assertBudget("Nothing.getOrElse(s)", 0, () -> nothing.getOrElse(() -> "default"));
+  }
+
+  @Test
+  public void maybeMapNAllocatesOnlyTheResult() {
+    assertBudget("Maybe.map3(Just, Just, Just)", 1,
+        () -> Maybe.map3(justText, justText, justText, (a, b, c) -> a));
+    assertBudget("Maybe.map3(Just, Nothing, Just)", 0,
+        () -> Maybe.map3(justText, nothing, justText, (a, b, c) -> a));
+  }
+
+  @Test
+  public void eitherBuildersAllocateAtMostBuilderAndResult() {
+    assertBudget("Either.left(value).value()", 2, () -> Either.left("text").value());
+    assertBudget("Either.right(value).value()", 2, () -> Either.right("text").value());
+  }
+
+  @Test
+  public void eitherMapAllocatesOnlyTheResult() {
+    assertBudget("Right.map(f)", 1, () -> rightText.map(identity));
+    assertBudget("Left.map(f)", 0, () -> leftText.map(identity));
+  }
+
+  @Test
+  public void eitherFlatMapAllocatesNothing() {
+    assertBudget("Right.flatMap(f)", 0, () -> rightText.flatMap(toRight));
+    assertBudget("Left.flatMap(f)", 0, () -> leftText.flatMap(toRight));
+  }
+
+  @Test
+  public void eitherFoldAllocatesOnlyTheResult() {
+    assertBudget("Right.fold(f, g)", 1, () -> rightText.fold(identity, identity));
+    assertBudget("Left.fold(f, g)", 1, () -> leftText.fold(identity, identity));
+  }
+
+  @Test
+  public void eitherMapNAllocatesOnlyTheResult() {
+    assertBudget("Either.map3(Right, Right, Right)", 1,
+        () -> Either.map3(rightText, rightText, rightText, (a, b, c) -> a));
+    assertBudget("Either.map3(Right, Left, Right)", 0,
+        () -> Either.map3(rightText, leftText, rightText, (a, b, c) -> a));
+  }
+
+  @Test
+  public void compiledFailuresAllocateNothing() {
+    Person oldLady = new Person("Mary", Maybe.nothing(), "Murphy", 66, Gender.Female);
+    Person teenager = new Person("Tom", Maybe.apply("Dick"), "Harry", 18, Gender.Male);
+    CompiledRequirements requirements = Main.seniorFemale;
+    assertBudget("failures(passing)", 0, () -> requirements.failures(oldLady) == 0L ? Boolean.TRUE : Boolean.FALSE);
+    assertBudget("failures(failing)", 0, () -> requirements.failures(teenager) == 0L ? Boolean.TRUE : Boolean.FALSE);
+    // check builds its result through Either.left/right, so it pays for a builder too
+    assertBudget("check(passing)", 2, () -> requirements.check(oldLady));
+    assertBudget("check(failing)", 2, () -> requirements.check(teenager));
+  }
+
+  @Test
+  public void offHeapCursorAllocatesNothing() {
+    PersonStore store = PersonStore.of(Arrays.asList(
+        new Person("Mary", Maybe.nothing(), "Murphy", 66, Gender.Female),
+        new Person("Tom", Maybe.apply("Dick"), "Harry", 18, Gender.Male)));
+    PersonStore.Cursor cursor = store.cursor();
+    CompiledRequirements requirements = Main.seniorFemale;
+    assertBudget("cursor.getMiddleName()", 0, () -> cursor.moveTo(1).getMiddleName());
+    assertBudget("failures(cursor)", 0,
+        () -> requirements.failures(cursor.moveTo(1)) == 0L ? Boolean.TRUE : Boolean.FALSE);
+  }
+
+  @Test
+  public void internedDuplicateAllocatesNothing() {
+    Interner<String> interner = new Interner<String>();
+    String canonical = new String("text");
+    String duplicate = new String("text");
+    interner.intern(canonical);
+    assertBudget("intern(duplicate)", 0, () -> interner.intern(duplicate));
+  }
+
+}
@@ -0,0 +1,88 @@
+package com.example;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * <p>Measures the heap allocated and the time taken per call of an operation
+ * on the current thread, using the per-thread allocation counter of
+ * com.sun.management.ThreadMXBean.</p>
+ * <p>Every result is stored in a static field so that escape analysis cannot
+ * remove the allocations an ordinary caller would see.</p>
+ */
+final class Allocations {
+
+  private static final int WARMUP = 50000;
+  private static final int ITERATIONS = 100000;
+
+  /**
+   * An upper bound on the size of a wrapper object holding one reference,
+   * with or without compressed oops
+   */
+  static final long OBJECT = 24;
+
+  static volatile Object sink;
+
+  private static final com.sun.management.ThreadMXBean threads = threads();
+
+  private final double bytes;
+  private final double nanos;
+
+  private Allocations(double bytes, double nanos) {
+    this.bytes = bytes;
+    this.nanos = nanos;
+  }
+
+  private static com.sun.management.ThreadMXBean threads() {
+    java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+      if (threads.isThreadAllocatedMemorySupported()) {
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return  true if this JVM can count allocated bytes per thread
+   */
+  static boolean supported() {
+    return threads != null;
+  }
+
+  /**
+   * <p>Warms op up and then measures it.</p>
+   * @param op  the operation to measure
+   * @return    the average bytes allocated and nanoseconds taken per call
+   */
+  static Allocations of(Supplier<?> op) {
+    for (int i = 0; i < WARMUP; i++)
+      sink = op.get();
+    long id = Thread.currentThread().getId();
+    long startBytes = threads.getThreadAllocatedBytes(id);
+    long startNanos = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++)
+      sink = op.get();
+    long elapsed = System.nanoTime() - startNanos;
+    long allocated = threads.getThreadAllocatedBytes(id) - startBytes;
+    return new Allocations((double) allocated / ITERATIONS, (double) elapsed / ITERATIONS);
+  }
+
+  /**
+   * @return  the average number of bytes allocated per call
+   */
+  double bytesPerOp() { return bytes; }
+
+  /**
+   * @return  the average number of nanoseconds per call
+   */
+  double nanosPerOp() { return nanos; }
+
+  @Override
+  public String toString() {
+    return String.format("%.1f bytes/op, %.1f ns/op", bytes, nanos);
+  }
+
+}
@@ -0,0 +1,139 @@
+package com.example;
+
+import com.example.Main.Gender;
+import com.example.Main.Person;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * <p>Class for testing CheckpointedValidation functionality</p>
+ */
+@RunWith(JUnit4.class)
+public class CheckpointedValidationSpec {
+
+  private static final int RECORDS = 1000;
+
+  private Path directory;
+  private Path input;
+
+  @Before
+  public void writeInput() throws IOException {
+    directory = Files.createTempDirectory("checkpoint");
+    input = directory.resolve("people.csv");
+    List<String> lines = new ArrayList<String>();
+    for (int i = 0; i < RECORDS; i++) {
+      Maybe<String> middle = i % 4 == 0 ? Maybe.apply("M" + i) : Maybe.<String>nothing();
+      Person person = new Person("F" + i, middle, "L" + i, 40 + i % 50, i % 3 == 0 ? Gender.Male : Gender.Female);
+      lines.add(PersonCsv.format(person));
+    }
+    Files.write(input, lines, StandardCharsets.UTF_8);
+  }
+
+  @After
+  public void deleteFiles() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : (Iterable<Path>) files::iterator)
+        Files.delete(file);
+    }
+    Files.delete(directory);
+  }
+
+  private CheckpointedValidation validation(String name) {
+    return new CheckpointedValidation(Main.seniorFemale, input,
+        directory.resolve(name + ".out"), directory.resolve(name + ".checkpoint"), 100);
+  }
+
+  @Test
+  public void outputHoldsOneBitmaskPerRecord() throws IOException {
+    CheckpointedValidation.Summary summary = validation("full").run();
+    Assert.assertEquals("every record validated", RECORDS, summary.getRecords());
+    ByteBuffer output = ByteBuffer.wrap(Files.readAllBytes(directory.resolve("full.out")));
+    List<String> lines = Files.readAllLines(input, StandardCharsets.UTF_8);
+    Assert.assertEquals("8 bytes per record", RECORDS * 8, output.remaining());
+    long failed = 0;
+    for (String line : lines) {
+      long expected = Main.seniorFemale.failures(PersonCsv.parse(line));
+      Assert.assertEquals("bitmask of " + line, expected, output.getLong());
+      if (expected != 0L)
+        failed++;
+    }
+    Assert.assertEquals("failed counter", failed, summary.getFailed());
+    Assert.assertFalse("checkpoint deleted on completion", Files.exists(directory.resolve("full.checkpoint")));
+  }
+
+  @Test
+  public void resumedRunMatchesUninterruptedRun() throws IOException {
+    CheckpointedValidation.Summary expected = validation("full").run();
+
+    CheckpointedValidation interrupted = validation("resumed");
+    interrupted.run(437);
+    Assert.assertTrue("checkpoint left behind", Files.exists(directory.resolve("resumed.checkpoint")));
+    interrupted.run(251);
+    CheckpointedValidation.Summary actual = interrupted.run();
+
+    Assert.assertEquals("counters match", expected, actual);
+    Assert.assertArrayEquals("output matches byte for byte",
+        Files.readAllBytes(directory.resolve("full.out")),
+        Files.readAllBytes(directory.resolve("resumed.out")));
+  }
+
+  @Test
+  public void completedRunStartsAgainFromTheBeginning() throws IOException {
+    CheckpointedValidation validation = validation("again");
+    CheckpointedValidation.Summary first = validation.run();
+    CheckpointedValidation.Summary second = validation.run();
+    Assert.assertEquals("a second run revalidates everything", first, second);
+  }
+
+  @Test
+  public void checkpointOfAnotherInputIsRefused() throws IOException {
+    CheckpointedValidation validation = validation("changed");
+    validation.run(250);
+    Files.write(input, Arrays.asList(PersonCsv.format(
+        new Person("Ann", Maybe.<String>nothing(), "Lee", 70, Gender.Female))),
+        StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    try {
+      validation.run();
+      Assert.fail("resumed over a changed input");
+    } catch (IOException expected) {
+      Assert.assertTrue("names the input: " + expected.getMessage(),
+          expected.getMessage().contains("another input"));
+    }
+  }
+
+  @Test
+  public void invalidRecordsAreCountedAndResumable() throws IOException {
+    List<String> lines = Files.readAllLines(input, StandardCharsets.UTF_8);
+    lines.set(150, "not,a,person");
+    lines.set(420, "Ann,,Lee,-5,Female");
+    Files.write(input, lines, StandardCharsets.UTF_8);
+    CheckpointedValidation.Summary expected = validation("full").run();
+    Assert.assertEquals("every line validated", RECORDS, expected.getRecords());
+    Assert.assertEquals("invalid lines counted", 2, expected.getInvalid());
+    ByteBuffer output = ByteBuffer.wrap(Files.readAllBytes(directory.resolve("full.out")));
+    Assert.assertEquals("invalid line is marked", CompiledRequirements.INVALID_RECORD, output.getLong(150 * 8));
+
+    CheckpointedValidation interrupted = validation("resumed");
+    interrupted.run(300);
+    Assert.assertEquals("resumed past the invalid lines", expected, interrupted.run());
+    Assert.assertArrayEquals("output matches byte for byte",
+        Files.readAllBytes(directory.resolve("full.out")),
+        Files.readAllBytes(directory.resolve("resumed.out")));
+  }
+
+}
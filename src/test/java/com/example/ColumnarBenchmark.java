@@ -0,0 +1,96 @@
+package com.example;
+
+import com.example.Main.Gender;
+import com.example.Main.Person;
+import com.example.Main.RequirementNotMet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+
+/**
+ * <p>Compares row-at-a-time Main.check with the compiled, the off-heap and
+ * the columnar evaluation of the same requirements. This is not a Spec and is not run by
+ * the test phase. Run it with</p>
+ * <pre>
+ *   mvn test-compile
+ *   java -cp target/classes:target/test-classes com.example.ColumnarBenchmark
+ * </pre>
+ */
+public class ColumnarBenchmark {
+
+  private static final int RECORDS = 1 << 20;
+  private static final int WARMUP = 10;
+  private static final int ROUNDS = 10;
+
+  private static long sink;
+
+  private static List<Person> people(int n) {
+    Random random = new Random(42);
+    String[] names = {"Mary", "Tom", "Ann", "Bob", "Sue"};
+    List<Person> people = new ArrayList<Person>(n);
+    for (int i = 0; i < n; i++) {
+      Maybe<String> middle = random.nextBoolean() ? Maybe.apply(names[random.nextInt(names.length)]) : Maybe.nothing();
+      people.add(new Person(names[random.nextInt(names.length)], middle, "Murphy",
+          random.nextInt(100), random.nextBoolean() ? Gender.Female : Gender.Male));
+    }
+    return people;
+  }
+
+  private static <T> void run(String name, T input, ToIntFunction<T> body) {
+    for (int i = 0; i < WARMUP; i++)
+      sink += body.applyAsInt(input);
+    long start = System.nanoTime();
+    for (int i = 0; i < ROUNDS; i++)
+      sink += body.applyAsInt(input);
+    double nanosPerRecord = (double) (System.nanoTime() - start) / ROUNDS / RECORDS;
+    System.out.printf("%-24s %8.2f ns/record%n", name, nanosPerRecord);
+  }
+
+  public static void main(String[] args) {
+    CompiledRequirements requirements = Main.seniorFemale;
+    List<Main.Requirement> lambdas = requirements.asRequirements();
+    List<Person> people = people(RECORDS);
+    PersonColumns columns = PersonColumns.of(people);
+    PersonStore store = PersonStore.of(people);
+
+    run("Main.check", people, ps -> {
+      int failed = 0;
+      for (Person p : ps) {
+        Either<List<RequirementNotMet>, Person> checked = Main.check(lambdas, p);
+        if (checked instanceof Either.Left)
+          failed++;
+      }
+      return failed;
+    });
+    run("compiled failures", people, ps -> {
+      int failed = 0;
+      for (Person p : ps) {
+        if (requirements.failures(p) != 0L)
+          failed++;
+      }
+      return failed;
+    });
+    run("off-heap failures", store, s -> {
+      int failed = 0;
+      PersonStore.Cursor cursor = s.cursor();
+      for (int i = 0; i < s.size(); i++) {
+        if (requirements.failures(cursor.moveTo(i)) != 0L)
+          failed++;
+      }
+      return failed;
+    });
+    run("columnar failures", columns, cs -> {
+      int failed = 0;
+      for (long mask : requirements.failures(cs)) {
+        if (mask != 0L)
+          failed++;
+      }
+      return failed;
+    });
+    run("columnar checkAll", columns, cs -> requirements.checkAll(cs).countLefts());
+    System.out.println("(" + sink + ")");
+  }
+
+}
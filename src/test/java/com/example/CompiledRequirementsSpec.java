@@ -0,0 +1,125 @@
+package com.example;
+
+import com.example.Main.Gender;
+import com.example.Main.Person;
+import com.example.Main.RequirementNotMet;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>Class for testing Rule and CompiledRequirements functionality</p>
+ */
+@RunWith(JUnit4.class)
+public class CompiledRequirementsSpec {
+
+  private static final CompiledRequirements requirements = CompiledRequirements.builder()
+      .require("senior", Rule.age().atLeast(65), "age", "less than 65")
+      .require("female", Rule.gender().is(Gender.Female), "gender", "is male")
+      .require("named", Rule.middleName().present().or(Rule.lastName().equalTo("Murphy")),
+          "middleName", "missing")
+      .build();
+
+  private static List<Person> people() {
+    List<Person> people = new ArrayList<Person>();
+    for (int age = 60; age < 70; age++) {
+      for (Gender gender : Gender.values()) {
+        people.add(new Person("Mary", Maybe.nothing(), "Murphy", age, gender));
+        people.add(new Person("Tom", Maybe.apply("Dick"), "Harry", age, gender));
+        people.add(new Person("Ann", Maybe.nothing(), "Lee", age, gender));
+      }
+    }
+    return people;
+  }
+
+  // n records in an irregular mix, enough to span several 64-bit bitmap words
+  private static List<Person> manyPeople(int n) {
+    List<Person> people = new ArrayList<Person>(n);
+    for (int i = 0; i < n; i++) {
+      Maybe<String> middle = i % 3 == 0 ? Maybe.apply("M" + i) : Maybe.<String>nothing();
+      String last = i % 4 == 0 ? "Murphy" : "Lee";
+      Gender gender = (i * 7 / 5) % 2 == 0 ? Gender.Female : Gender.Male;
+      people.add(new Person("F" + i, middle, last, 40 + (i * 37) % 50, gender));
+    }
+    return people;
+  }
+
+  @Test
+  public void failuresSetsOneBitPerUnmetRequirement() {
+    Person teenager = new Person("Ann", Maybe.nothing(), "Lee", 18, Gender.Male);
+    Person oldLady = new Person("Mary", Maybe.nothing(), "Murphy", 66, Gender.Female);
+    Assert.assertEquals("teenager fails every requirement", 7L, requirements.failures(teenager));
+    Assert.assertEquals("old lady meets every requirement", 0L, requirements.failures(oldLady));
+  }
+
+  @Test
+  public void checkMatchesMainCheck() {
+    for (Person person : people()) {
+      Object expected = Main.check(requirements.asRequirements(), person);
+      Object actual = requirements.check(person);
+      Assert.assertEquals("compiled check == Main.check", expected, actual);
+    }
+  }
+
+  @Test
+  public void columnarFailuresMatchRowFailures() {
+    // 193 is three full words and one partial one, so the tail is trimmed
+    List<Person> people = manyPeople(193);
+    long[] masks = requirements.failures(PersonColumns.of(people));
+    Assert.assertEquals("one mask per record", people.size(), masks.length);
+    for (int i = 0; i < people.size(); i++)
+      Assert.assertEquals("columnar mask " + i + " == row mask", requirements.failures(people.get(i)), masks[i]);
+  }
+
+  @Test
+  public void columnarCheckAllMatchesCheck() {
+    List<Person> people = manyPeople(193);
+    EitherArray<List<RequirementNotMet>, Person> results = requirements.checkAll(PersonColumns.of(people));
+    for (int i = 0; i < people.size(); i++)
+      Assert.assertEquals("checkAll(columns).get(" + i + ") == check(person)",
+          requirements.check(people.get(i)), results.get(i));
+  }
+
+  @Test
+  public void unmetListsRequirementsInOrder() {
+    List<RequirementNotMet> expected = Arrays.asList(
+        new RequirementNotMet("age", "less than 65"),
+        new RequirementNotMet("middleName", "missing"));
+    Assert.assertEquals("bits 0 and 2 are age and middleName", expected, requirements.unmet(5L));
+    Assert.assertEquals("no bits is no requirements", Collections.emptyList(), requirements.unmet(0L));
+  }
+
+  @Test
+  public void failingChecksShareRequirementNotMet() {
+    Person a = new Person("Ann", Maybe.nothing(), "Lee", 18, Gender.Female);
+    Person b = new Person("Bea", Maybe.nothing(), "Lee", 19, Gender.Female);
+    RequirementNotMet first = requirements.check(a).getLeftOrThrow(new RuntimeException()).get(0);
+    RequirementNotMet second = requirements.check(b).getLeftOrThrow(new RuntimeException()).get(0);
+    Assert.assertSame("RequirementNotMet is built once per requirement", first, second);
+  }
+
+  @Test
+  public void ageComparisonsAreInclusiveRanges() {
+    Person sixtyFive = new Person("Mary", Maybe.nothing(), "Murphy", 65, Gender.Female);
+    Assert.assertTrue("65 >= 65", Rule.age().atLeast(65).test(sixtyFive));
+    Assert.assertFalse("65 > 65 is false", Rule.age().greaterThan(65).test(sixtyFive));
+    Assert.assertTrue("65 <= 65", Rule.age().atMost(65).test(sixtyFive));
+    Assert.assertFalse("65 < 65 is false", Rule.age().lessThan(65).test(sixtyFive));
+    Assert.assertTrue("60 <= 65 <= 70", Rule.age().between(60, 70).test(sixtyFive));
+    Assert.assertFalse("not 65 == 65 is false", Rule.age().equalTo(65).negate().test(sixtyFive));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void moreThanSixtyFourRequirementsIsRejected() {
+    CompiledRequirements.Builder builder = CompiledRequirements.builder();
+    for (int i = 0; i <= CompiledRequirements.MAX_REQUIREMENTS; i++)
+      builder.require("r" + i, Rule.age().atLeast(i), "age", "less than " + i);
+  }
+
+}
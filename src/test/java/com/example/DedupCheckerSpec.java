@@ -0,0 +1,77 @@
+package com.example;
+
+import com.example.Main.Gender;
+import com.example.Main.Person;
+import com.example.Main.RequirementNotMet;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Class for testing Interner and DedupChecker functionality</p>
+ */
+@RunWith(JUnit4.class)
+public class DedupCheckerSpec {
+
+  private static List<Person> people() {
+    List<Person> people = new ArrayList<Person>();
+    for (int i = 0; i < 300; i++)
+      people.add(new Person("P" + (i % 10), Maybe.nothing(), "Murphy", 60 + i % 10, Gender.Female));
+    return people;
+  }
+
+  @Test
+  public void internReturnsFirstEqualInstance() {
+    Interner<String> interner = new Interner<String>();
+    String first = new String("text");
+    String second = new String("text");
+    Assert.assertSame("first instance is canonical", first, interner.intern(first));
+    Assert.assertSame("equal instance maps to the first", first, interner.intern(second));
+    Assert.assertEquals("one canonical instance", 1, interner.size());
+  }
+
+  @Test
+  public void unreferencedCanonicalInstancesAreDropped() throws InterruptedException {
+    Interner<String> interner = new Interner<String>();
+    for (int i = 0; i < 100; i++)
+      interner.intern(new String("value " + i));
+    for (int attempt = 0; attempt < 20 && interner.size() > 0; attempt++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    Assert.assertEquals("every entry is dropped once collected", 0, interner.size());
+  }
+
+  @Test
+  public void eachDistinctRecordIsCheckedOnce() {
+    DedupChecker dedup = new DedupChecker(Main.seniorFemale::check);
+    List<Person> people = people();
+    List<Either<List<RequirementNotMet>, Person>> results = dedup.checkAll(people);
+    Assert.assertEquals("one result per record", people.size(), results.size());
+    Assert.assertEquals("ten distinct records", 10, dedup.evaluations());
+    for (int i = 0; i < people.size(); i++)
+      Assert.assertEquals("result " + i + " == check(person)", Main.seniorFemale.check(people.get(i)), results.get(i));
+  }
+
+  @Test
+  public void duplicatesShareTheirResult() {
+    DedupChecker dedup = new DedupChecker(Main.seniorFemale::check);
+    List<Either<List<RequirementNotMet>, Person>> results = dedup.checkAll(people());
+    Assert.assertSame("records 0 and 10 are equal and share one Either", results.get(0), results.get(10));
+    Assert.assertNotSame("records 0 and 1 differ", results.get(0), results.get(1));
+  }
+
+  @Test
+  public void canonicalIsSharedAcrossBatches() {
+    DedupChecker dedup = new DedupChecker(Main.seniorFemale::check);
+    List<Person> first = people();
+    dedup.checkAll(first);
+    Person copy = new Person("P0", Maybe.nothing(), "Murphy", 60, Gender.Female);
+    Assert.assertSame("a later equal record maps to the earlier instance", first.get(0), dedup.canonical(copy));
+  }
+
+}
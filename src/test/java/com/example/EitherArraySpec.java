@@ -0,0 +1,110 @@
+package com.example;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>Class for testing EitherArray functionality</p>
+ */
+@RunWith(JUnit4.class)
+public class EitherArraySpec {
+
+  // every third element is a Left, the rest are Rights
+  private static Either<String, Integer> element(int i) {
+    if (i % 3 == 0)
+      return Either.left("bad " + i).value();
+    else
+      return Either.right(i).value();
+  }
+
+  private static List<Either<String, Integer>> elements(int n) {
+    List<Either<String, Integer>> list = new ArrayList<Either<String, Integer>>();
+    for (int i = 0; i < n; i++)
+      list.add(element(i));
+    return list;
+  }
+
+  @Test
+  public void builderKeepsEncounterOrder() {
+    EitherArray<String, Integer> array = EitherArray.<String, Integer>builder()
+        .addRight(1)
+        .addLeft("error")
+        .addRight(2)
+        .build();
+    Assert.assertEquals("size is 3", 3, array.size());
+    Assert.assertEquals("get(0) is Right(1)", Either.right(1).value(), array.get(0));
+    Assert.assertEquals("get(1) is Left(error)", Either.left("error").value(), array.get(1));
+    Assert.assertEquals("get(2) is Right(2)", Either.right(2).value(), array.get(2));
+  }
+
+  @Test
+  public void getMatchesSourceAcrossWordBoundaries() {
+    List<Either<String, Integer>> source = elements(1000);
+    EitherArray<String, Integer> array = EitherArray.from(source);
+    for (int i = 0; i < source.size(); i++)
+      Assert.assertEquals("get(" + i + ") matches the source", source.get(i), array.get(i));
+  }
+
+  @Test
+  public void columnsHoldPackedValues() {
+    EitherArray<String, Integer> array = EitherArray.from(elements(10));
+    Assert.assertEquals("lefts are every third index", Arrays.asList("bad 0", "bad 3", "bad 6", "bad 9"), array.lefts());
+    Assert.assertEquals("rights are the remaining indexes", Arrays.asList(1, 2, 4, 5, 7, 8), array.rights());
+    Assert.assertEquals("countLefts is 4", 4, array.countLefts());
+    Assert.assertEquals("countRights is 6", 6, array.countRights());
+    Assert.assertTrue("index 3 is a Left", array.isLeft(3));
+    Assert.assertTrue("index 4 is a Right", array.isRight(4));
+  }
+
+  @Test
+  public void mapRightsLeavesLeftsUnchanged() {
+    EitherArray<String, String> mapped = EitherArray.from(elements(200)).mapRights(i -> "#" + i);
+    for (int i = 0; i < 200; i++) {
+      Either<String, String> expected = element(i).map(n -> "#" + n);
+      Assert.assertEquals("mapRights(f).get(" + i + ") == get(" + i + ").map(f)", expected, mapped.get(i));
+    }
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void getOutOfRangeThrows() {
+    EitherArray.from(elements(5)).get(5);
+  }
+
+  @Test
+  public void emptyArrayHasNoElements() {
+    EitherArray<String, Integer> array = EitherArray.<String, Integer>builder().build();
+    Assert.assertEquals("size is 0", 0, array.size());
+    Assert.assertFalse("iterator is empty", array.iterator().hasNext());
+  }
+
+  @Test
+  public void parallelStreamPreservesOrder() {
+    List<Either<String, Integer>> source = elements(10000);
+    EitherArray<String, Integer> array = EitherArray.from(source);
+    List<Either<String, Integer>> actual = array.stream(true).collect(Collectors.toList());
+    Assert.assertEquals("parallel stream yields the source in order", source, actual);
+    long rightSum = StreamSupport.stream(array.rightSpliterator(), true).mapToLong(Integer::longValue).sum();
+    long expectedSum = IntStream.range(0, 10000).filter(i -> i % 3 != 0).asLongStream().sum();
+    Assert.assertEquals("rightSpliterator covers every right", expectedSum, rightSum);
+  }
+
+  @Test
+  public void parallelCollectorPreservesOrder() {
+    EitherArray<String, Integer> array = IntStream.range(0, 5000)
+        .parallel()
+        .mapToObj(EitherArraySpec::element)
+        .collect(EitherArray.<String, Integer>collector());
+    for (int i = 0; i < 5000; i++)
+      Assert.assertEquals("collected get(" + i + ") matches", element(i), array.get(i));
+  }
+
+}
@@ -241,4 +241,35 @@ public class EitherSpec {
 
   }
 
+  @Test
+  public void mapNAppliesFunctionWhenAllAreRight() {
+    Either<String,Integer> sum = Either.map3(hundredDivN.apply(1), hundredDivN.apply(2), hundredDivN.apply(4),
+        (a, b, c) -> a + b + c);
+    Assert.assertEquals("map3(Right, Right, Right) == Right(f(a, b, c))", Either.right(175).value(), sum);
+    Either<String,Integer> product = Either.map8(hundredDivN.apply(100), hundredDivN.apply(50),
+        hundredDivN.apply(50), hundredDivN.apply(50), hundredDivN.apply(50), hundredDivN.apply(50),
+        hundredDivN.apply(50), hundredDivN.apply(50), (a, b, c, d, e, f, g, h) -> a * b * c * d * e * f * g * h);
+    Assert.assertEquals("map8 of eight Rights == Right(product)", Either.right(128).value(), product);
+    Assert.assertEquals("Right(1).zip(Right(2), +) == Right(3)", Either.right(3).value(),
+        Either.right(1).<String>value().zip(Either.right(2).<String>value(), (a, b) -> a + b));
+  }
+
+  @Test
+  public void mapNFailsFastWithFirstLeft() {
+    int[] calls = {0};
+    Either<String,Integer> first = Either.left("first").value();
+    Either<String,Integer> second = Either.left("second").value();
+    Either<String,Integer> sum = Either.map3(hundredDivN.apply(1), first, second,
+        (a, b, c) -> { calls[0]++; return a + b + c; });
+    Assert.assertSame("map3(Right, Left, Left) is the first Left", first, sum);
+    Either<String,Integer> product = Either.map8(hundredDivN.apply(1), hundredDivN.apply(2),
+        hundredDivN.apply(3), hundredDivN.apply(4), hundredDivN.apply(5), hundredDivN.apply(6),
+        hundredDivN.apply(7), hundredDivN.apply(0), (a, b, c, d, e, f, g, h) -> { calls[0]++; return a * h; });
+    Assert.assertEquals("map8 with a Left in last place is that Left",
+        Either.left("cannot div by zero").value(), product);
+    Assert.assertSame("Left.zip(Left, +) is the receiver", second,
+        second.zip(first, (a, b) -> { calls[0]++; return a + b; }));
+    Assert.assertEquals("f is never called", 0, calls[0]);
+  }
+
 }
@@ -0,0 +1,120 @@
+package com.example;
+
+import com.example.Main.RequirementNotMet;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>Class for testing FailureAggregator functionality</p>
+ */
+@RunWith(JUnit4.class)
+public class FailureAggregatorSpec {
+
+  private static final RequirementNotMet age = new RequirementNotMet("age", "less than 65");
+  private static final RequirementNotMet male = new RequirementNotMet("gender", "is male");
+  private static final RequirementNotMet young = new RequirementNotMet("age", "less than 18");
+
+  @Test
+  public void countsFailuresByFieldAndReason() {
+    FailureAggregator aggregator = new FailureAggregator();
+    aggregator.record(Either.left(Arrays.asList(age, male)).value());
+    aggregator.record(Either.left(Arrays.asList(young, male)).value());
+    aggregator.record(Either.left(Collections.singletonList(male)).value());
+    aggregator.record(Either.right("passed").<List<RequirementNotMet>>value());
+    FailureAggregator.Snapshot snapshot = aggregator.snapshot();
+    Assert.assertEquals("four records", 4, snapshot.getRecords());
+    Assert.assertEquals("three failed", 3, snapshot.getFailed());
+    Assert.assertEquals("age failed twice", Long.valueOf(2), snapshot.getFailuresByField().get("age"));
+    Assert.assertEquals("gender failed three times", Long.valueOf(3), snapshot.getFailuresByField().get("gender"));
+    Assert.assertEquals("less than 18 failed once", 1, snapshot.getFailures(young));
+    List<Map.Entry<RequirementNotMet, Long>> top = snapshot.topReasons(2);
+    Assert.assertEquals("two top reasons", 2, top.size());
+    Assert.assertEquals("most common reason first", male, top.get(0).getKey());
+    Assert.assertEquals("ties broken by field then reason", young, top.get(1).getKey());
+  }
+
+  @Test
+  public void concurrentRecordingIsCountedExactly() throws InterruptedException {
+    FailureAggregator aggregator = new FailureAggregator();
+    int threads = 8;
+    int perThread = 20000;
+    Either<List<RequirementNotMet>, String> failure = Either.left(Arrays.asList(age, male)).value();
+    Either<List<RequirementNotMet>, String> success = Either.right("ok").value();
+    CountDownLatch done = new CountDownLatch(threads);
+    AtomicBoolean consistent = new AtomicBoolean(true);
+    for (int t = 0; t < threads; t++) {
+      new Thread(() -> {
+        for (int i = 0; i < perThread; i++)
+          aggregator.record(i % 2 == 0 ? failure : success);
+        done.countDown();
+      }).start();
+    }
+    while (done.getCount() > 0) {
+      FailureAggregator.Snapshot snapshot = aggregator.snapshot();
+      // every failed record adds one age and one gender failure, never just one of them
+      Long ages = snapshot.getFailuresByField().getOrDefault("age", 0L);
+      Long genders = snapshot.getFailuresByField().getOrDefault("gender", 0L);
+      if (snapshot.isExact() && (ages.longValue() != snapshot.getFailed() || genders.longValue() != snapshot.getFailed()))
+        consistent.set(false);
+    }
+    done.await();
+    FailureAggregator.Snapshot snapshot = aggregator.snapshot();
+    Assert.assertTrue("every exact snapshot was consistent", consistent.get());
+    Assert.assertTrue("a snapshot after recording stops is exact", snapshot.isExact());
+    Assert.assertEquals("every record counted", threads * perThread, snapshot.getRecords());
+    Assert.assertEquals("every failure counted", threads * perThread / 2, snapshot.getFailed());
+  }
+
+  @Test
+  public void countersGrowWithNewFieldsAndReasons() {
+    FailureAggregator aggregator = new FailureAggregator();
+    for (int i = 0; i < 40; i++) {
+      RequirementNotMet reason = new RequirementNotMet("field" + i % 20, "reason" + i);
+      for (int j = 0; j <= i; j++)
+        aggregator.record(Collections.singletonList(reason));
+    }
+    FailureAggregator.Snapshot snapshot = aggregator.snapshot();
+    Assert.assertEquals("20 fields counted", 20, snapshot.getFailuresByField().size());
+    Assert.assertEquals("field0 failed for reason0 and reason20", Long.valueOf(1 + 21),
+        snapshot.getFailuresByField().get("field0"));
+    Assert.assertEquals("reason39 counted 40 times", 40, snapshot.getFailures(new RequirementNotMet("field19", "reason39")));
+    Assert.assertEquals("most frequent reason first", "reason39", snapshot.topReasons(1).get(0).getKey().getReason());
+  }
+
+  @Test(timeout = 10000)
+  public void snapshotsFinishWhileRecordingNeverStops() throws InterruptedException {
+    FailureAggregator aggregator = new FailureAggregator();
+    Either<List<RequirementNotMet>, String> failure = Either.left(Arrays.asList(age, male)).value();
+    AtomicBoolean stop = new AtomicBoolean();
+    Thread recorder = new Thread(() -> {
+      while (!stop.get())
+        aggregator.record(failure);
+    });
+    recorder.start();
+    try {
+      long previous = 0;
+      for (int i = 0; i < 2000; i++) {
+        FailureAggregator.Snapshot snapshot = aggregator.snapshot();
+        Assert.assertTrue("records never go backwards", snapshot.getRecords() >= previous);
+        if (snapshot.isExact())
+          Assert.assertEquals("exact snapshots are consistent",
+              Long.valueOf(snapshot.getFailed()), snapshot.getFailuresByField().getOrDefault("age", 0L));
+        previous = snapshot.getRecords();
+      }
+    } finally {
+      stop.set(true);
+      recorder.join();
+    }
+    Assert.assertTrue("exact once recording stops", aggregator.snapshot().isExact());
+  }
+
+}
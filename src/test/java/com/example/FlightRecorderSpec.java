@@ -0,0 +1,86 @@
+package com.example;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * <p>Class for testing the flight recorder events emitted by Main</p>
+ */
+@RunWith(JUnit4.class)
+public class FlightRecorderSpec {
+
+  private static final Main.Requirement adult = new Main.Requirement("adult", person ->
+      person.getAge() < 18
+          ? Maybe.apply(new Main.RequirementNotMet("age", "less than 18"))
+          : Maybe.<Main.RequirementNotMet>nothing());
+
+  private static final List<Main.Person> family = Arrays.asList(
+      new Main.Person("Ann", Maybe.nothing(), "Lee", 9, Main.Gender.Female),
+      new Main.Person("Bob", Maybe.nothing(), "Lee", 40, Main.Gender.Male));
+
+  private static List<RecordedEvent> record(String eventName, Function<Recording, Recording> settings)
+      throws Exception {
+    Path file = Files.createTempFile("validation", ".jfr");
+    try (Recording recording = new Recording()) {
+      settings.apply(recording);
+      recording.start();
+      Main.checkAll(Arrays.asList(adult), family);
+      recording.stop();
+      recording.dump(file);
+      return RecordingFile.readAllEvents(file).stream()
+          .filter(e -> e.getEventType().getName().equals(eventName))
+          .collect(Collectors.toList());
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void everyRequirementEvaluationIsRecorded() throws Exception {
+    List<RecordedEvent> events = record("com.example.RequirementEvaluation", r -> {
+      r.enable("com.example.RequirementEvaluation").withThreshold(Duration.ZERO);
+      return r;
+    });
+    Assert.assertEquals("one event per evaluation", 2, events.size());
+    RecordedEvent failed = events.get(0);
+    Assert.assertEquals("requirement name is recorded", "adult", failed.getString("requirement"));
+    Assert.assertFalse("child fails", failed.getBoolean("passed"));
+    Assert.assertEquals("failure field is recorded", "age", failed.getString("field"));
+    Assert.assertEquals("failure reason is recorded", "less than 18", failed.getString("reason"));
+    Assert.assertTrue("parent passes", events.get(1).getBoolean("passed"));
+  }
+
+  @Test
+  public void batchIsRecorded() throws Exception {
+    List<RecordedEvent> events = record("com.example.ValidationBatch", r -> {
+      r.enable("com.example.ValidationBatch");
+      return r;
+    });
+    Assert.assertEquals("one event per batch", 1, events.size());
+    Assert.assertEquals("two records", 2, events.get(0).getInt("records"));
+    Assert.assertEquals("one failed record", 1, events.get(0).getInt("failed"));
+  }
+
+  @Test
+  public void disabledEventsAreNotRecorded() throws Exception {
+    List<RecordedEvent> events = record("com.example.RequirementEvaluation", r -> {
+      r.disable("com.example.RequirementEvaluation");
+      return r;
+    });
+    Assert.assertTrue("nothing recorded when disabled", events.isEmpty());
+  }
+
+}
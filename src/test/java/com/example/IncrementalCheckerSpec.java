@@ -0,0 +1,83 @@
+package com.example;
+
+import com.example.Main.Gender;
+import com.example.Main.Person;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Class for testing IncrementalChecker functionality</p>
+ */
+@RunWith(JUnit4.class)
+public class IncrementalCheckerSpec {
+
+  private static final CompiledRequirements requirements = CompiledRequirements.builder()
+      .require("senior", Rule.age().atLeast(65), "age", "less than 65")
+      .require("female", Rule.gender().is(Gender.Female), "gender", "is male")
+      .require("workingAgeWoman", Rule.age().lessThan(65).and(Rule.gender().is(Gender.Female)).negate(),
+          "age", "working age woman")
+      .require("named", Rule.middleName().present(), "middleName", "missing")
+      .build();
+
+  private static Person person(String first, int age, Gender gender) {
+    return new Person(first, Maybe.nothing(), "Murphy", age, gender);
+  }
+
+  @Test
+  public void firstCheckEvaluatesEveryRequirement() {
+    IncrementalChecker<String> checker = new IncrementalChecker<String>(requirements, Person::getFirstName);
+    Person mary = person("Mary", 60, Gender.Female);
+    Assert.assertEquals("same result as a full check", requirements.check(mary), checker.check(mary));
+    Assert.assertEquals("every requirement evaluated", 4, checker.evaluations());
+  }
+
+  @Test
+  public void changedFieldReevaluatesOnlyItsReaders() {
+    IncrementalChecker<String> checker = new IncrementalChecker<String>(requirements, Person::getFirstName);
+    checker.check(person("Mary", 60, Gender.Female));
+    Person olderMary = person("Mary", 70, Gender.Female);
+    Assert.assertEquals("same result as a full check", requirements.check(olderMary), checker.check(olderMary));
+    Assert.assertEquals("only the two age readers re-evaluated", 4 + 2, checker.evaluations());
+  }
+
+  @Test
+  public void unchangedRecordEvaluatesNothing() {
+    IncrementalChecker<String> checker = new IncrementalChecker<String>(requirements, Person::getFirstName);
+    checker.check(person("Tom", 18, Gender.Male));
+    Person sameTom = person("Tom", 18, Gender.Male);
+    Assert.assertEquals("same result as a full check", requirements.check(sameTom), checker.check(sameTom));
+    Assert.assertEquals("no requirement re-evaluated", 4, checker.evaluations());
+  }
+
+  @Test
+  public void sequenceOfEditsMatchesFullChecks() {
+    IncrementalChecker<Integer> checker = new IncrementalChecker<Integer>(requirements, Person::getAge);
+    List<Person> people = new ArrayList<Person>();
+    for (int i = 0; i < 200; i++) {
+      Maybe<String> middle = i % 3 == 0 ? Maybe.apply("M") : Maybe.<String>nothing();
+      Gender gender = i % 5 == 0 ? Gender.Male : Gender.Female;
+      // keyed by age, so later records revisit earlier keys with other fields changed
+      people.add(new Person("P" + (i % 7), middle, "L", 55 + i % 20, gender));
+    }
+    EitherArray<?, ?> results = checker.checkAll(people);
+    for (int i = 0; i < people.size(); i++)
+      Assert.assertEquals("incremental result " + i + " == full check", requirements.check(people.get(i)), results.get(i));
+    Assert.assertEquals("one entry per key", 20, checker.size());
+    Assert.assertTrue("fewer evaluations than a full pass", checker.evaluations() < 4L * people.size());
+  }
+
+  @Test
+  public void forgottenKeyIsEvaluatedInFull() {
+    IncrementalChecker<String> checker = new IncrementalChecker<String>(requirements, Person::getFirstName);
+    checker.check(person("Ann", 30, Gender.Female));
+    checker.forget("Ann");
+    checker.check(person("Ann", 30, Gender.Female));
+    Assert.assertEquals("both checks evaluated every requirement", 8, checker.evaluations());
+  }
+
+}
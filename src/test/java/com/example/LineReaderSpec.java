@@ -0,0 +1,59 @@
+package com.example;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>Class for testing LineReader functionality</p>
+ */
+@RunWith(JUnit4.class)
+public class LineReaderSpec {
+
+  private static List<String> read(String text, int chunk) {
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    LineReader reader = new LineReader();
+    List<String> lines = new ArrayList<String>();
+    for (int from = 0; from < bytes.length; from += chunk) {
+      ByteBuffer buffer = ByteBuffer.wrap(bytes, from, Math.min(chunk, bytes.length - from));
+      while (reader.next(buffer))
+        lines.add(reader.line());
+    }
+    while (reader.end())
+      lines.add(reader.line());
+    return lines;
+  }
+
+  @Test
+  public void splitsLinesAcrossChunks() {
+    String text = "Mary,,Murphy\r\n\n\r\nTom,Dick,Harry\nAnn,,Lee";
+    List<String> expected = Arrays.asList("Mary,,Murphy", "Tom,Dick,Harry", "Ann,,Lee");
+    for (int chunk = 1; chunk <= text.length(); chunk++)
+      Assert.assertEquals("lines read " + chunk + " bytes at a time", expected, read(text, chunk));
+  }
+
+  @Test
+  public void trailingNewlineAddsNoLine() {
+    Assert.assertEquals("one line", Arrays.asList("Ann"), read("Ann\r\n", 64));
+    Assert.assertEquals("no lines", Arrays.<String>asList(), read("", 64));
+  }
+
+  @Test
+  public void positionIsJustPastTheLine() {
+    ByteBuffer buffer = ByteBuffer.wrap("Ann\n\nBob\n".getBytes(StandardCharsets.UTF_8));
+    LineReader reader = new LineReader();
+    Assert.assertTrue("first line", reader.next(buffer));
+    Assert.assertEquals("after the first newline", 4, buffer.position());
+    Assert.assertTrue("second line", reader.next(buffer));
+    Assert.assertEquals("empty line skipped", "Bob", reader.line());
+    Assert.assertEquals("after the last newline", 9, buffer.position());
+  }
+
+}
@@ -185,4 +185,44 @@ public class MaybeSpec {
     Assert.assertEquals("Nothing.toString == \"Nothing\"", expected, actual);
   }
 
+  @Test
+  public void mapNAppliesFunctionWhenAllAreJust() {
+    Maybe<String> name = Maybe.map3(Maybe.apply("Mary"), Maybe.apply("Anne"), Maybe.apply("Murphy"),
+        (first, middle, last) -> first + ' ' + middle + ' ' + last);
+    Assert.assertEquals("map3(Just, Just, Just) == Just(f(a, b, c))", Maybe.apply("Mary Anne Murphy"), name);
+    Maybe<Integer> sum = Maybe.map8(Maybe.apply(1), Maybe.apply(2), Maybe.apply(3), Maybe.apply(4),
+        Maybe.apply(5), Maybe.apply(6), Maybe.apply(7), Maybe.apply(8),
+        (a, b, c, d, e, f, g, h) -> a + b + c + d + e + f + g + h);
+    Assert.assertEquals("map8 of eight Justs == Just(sum)", Maybe.apply(36), sum);
+    Assert.assertEquals("Just(1).zip(Just(2), +) == Just(3)", Maybe.apply(3),
+        Maybe.apply(1).zip(Maybe.apply(2), (a, b) -> a + b));
+  }
+
+  @Test
+  public void mapNIsNothingWithoutCallingFunctionWhenAnyIsNothing() {
+    int[] calls = {0};
+    Maybe<String> name = Maybe.map3(Maybe.apply("Tom"), Maybe.<String>nothing(), Maybe.apply("Harry"),
+        (first, middle, last) -> { calls[0]++; return first + ' ' + middle + ' ' + last; });
+    Assert.assertEquals("map3(Just, Nothing, Just) == Nothing", Maybe.<String>nothing(), name);
+    Maybe<Integer> sum = Maybe.map8(Maybe.apply(1), Maybe.apply(2), Maybe.apply(3), Maybe.apply(4),
+        Maybe.apply(5), Maybe.apply(6), Maybe.apply(7), Maybe.<Integer>nothing(),
+        (a, b, c, d, e, f, g, h) -> { calls[0]++; return a + b + c + d + e + f + g + h; });
+    Assert.assertEquals("map8 with a Nothing == Nothing", Maybe.<Integer>nothing(), sum);
+    Assert.assertEquals("Nothing.zip(Just(2), +) == Nothing", Maybe.<Integer>nothing(),
+        Maybe.<Integer>nothing().zip(Maybe.apply(2), (a, b) -> { calls[0]++; return a + b; }));
+    Assert.assertEquals("f is never called", 0, calls[0]);
+  }
+
+  @Test
+  public void mapNMatchesNestedFlatMap() {
+    for (int i = -1; i <= ints.size(); i++) {
+      for (int j = -1; j <= ints.size(); j++) {
+        int jj = j;
+        Maybe<? extends Integer> nested = index.apply(i).flatMap(a -> index.apply(jj).map(b -> a * 10 + b));
+        Maybe<Integer> combined = Maybe.map2(index.apply(i), index.apply(j), (a, b) -> a * 10 + b);
+        Assert.assertEquals("map2(index(" + i + "), index(" + j + "))", nested, combined);
+      }
+    }
+  }
+
 }
@@ -0,0 +1,114 @@
+package com.example;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * <p>Class for testing LatencyHistogram and Metrics functionality</p>
+ */
+@RunWith(JUnit4.class)
+public class MetricsSpec {
+
+  private static final Function<Integer, Either<String, Integer>> hundredDivN =
+      i -> {
+        if (i == 0) {
+          return Either.left("cannot div by zero").value();
+        } else {
+          return Either.right(100 / i).value();
+        }
+      };
+
+  @After
+  public void resetMetrics() {
+    Metrics.disable();
+    Metrics.reset();
+  }
+
+  @Test
+  public void smallValuesAreRecordedExactly() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 50; i++)
+      histogram.record(i);
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    Assert.assertEquals("count is 50", 50, snapshot.getCount());
+    Assert.assertEquals("p50 is 25", 25, snapshot.getValueAtPercentile(50));
+    Assert.assertEquals("p100 is 50", 50, snapshot.getValueAtPercentile(100));
+    Assert.assertEquals("mean is 25.5", 25.5, snapshot.getMean(), 0.0);
+  }
+
+  @Test
+  public void largeValuesAreWithinRelativeError() {
+    for (long value = 64; value < Long.MAX_VALUE / 3; value = value * 3 + 7) {
+      int index = LatencyHistogram.indexOf(value);
+      long highest = LatencyHistogram.highestValueAt(index);
+      Assert.assertTrue(value + " <= highestValueAt(indexOf(" + value + "))", value <= highest);
+      Assert.assertTrue(value + " is within 1/32 of its bucket bound", (highest - value) <= value / 32);
+    }
+  }
+
+  @Test
+  public void percentilesAreCappedAtMax() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(1000);
+    Assert.assertEquals("p99 of a single value is that value", 1000, histogram.snapshot().getValueAtPercentile(99));
+    Assert.assertEquals("empty histogram p99 is 0", 0, new LatencyHistogram().snapshot().getValueAtPercentile(99));
+  }
+
+  @Test
+  public void instrumentedFunctionCountsLeftsAndRights() {
+    Metrics.enable();
+    Function<Integer, Either<String, Integer>> f = Metrics.instrument("div", hundredDivN);
+    Assert.assertEquals("instrumented f(0) == f(0)", hundredDivN.apply(0), f.apply(0));
+    Assert.assertEquals("instrumented f(5) == f(5)", hundredDivN.apply(5), f.apply(5));
+    f.apply(10);
+    OutcomeMetrics.Snapshot snapshot = Metrics.snapshot().get("div");
+    Assert.assertEquals("one left", 1, snapshot.getLefts());
+    Assert.assertEquals("two rights", 2, snapshot.getRights());
+    Assert.assertEquals("three latencies", 3, snapshot.getLatency().getCount());
+  }
+
+  @Test
+  public void disabledMetricsRecordNothing() {
+    Function<Integer, Either<String, Integer>> f = Metrics.instrument("div", hundredDivN);
+    f.apply(0);
+    Assert.assertTrue("nothing registered while disabled", Metrics.snapshot().isEmpty());
+  }
+
+  @Test
+  public void checkRecordsEachRequirement() {
+    Metrics.enable();
+    Main.Requirement adult = new Main.Requirement("adult", person ->
+        person.getAge() < 18
+            ? Maybe.apply(new Main.RequirementNotMet("age", "less than 18"))
+            : Maybe.<Main.RequirementNotMet>nothing());
+    Main.Person child = new Main.Person("Ann", Maybe.nothing(), "Lee", 9, Main.Gender.Female);
+    Main.Person parent = new Main.Person("Bob", Maybe.nothing(), "Lee", 40, Main.Gender.Male);
+    Main.check(Arrays.asList(adult), child);
+    Main.check(Arrays.asList(adult), parent);
+    OutcomeMetrics.Snapshot snapshot = Metrics.snapshot().get("requirement.adult");
+    Assert.assertEquals("one unmet requirement recorded as a left", 1, snapshot.getLefts());
+    Assert.assertEquals("one met requirement recorded as a right", 1, snapshot.getRights());
+  }
+
+  @Test
+  public void requirementReusesItsMetricsUntilReset() {
+    Metrics.enable();
+    Main.Requirement named = new Main.Requirement("named", person -> Maybe.<Main.RequirementNotMet>nothing());
+    OutcomeMetrics metrics = named.getMetrics();
+    Assert.assertSame("metrics resolved once", metrics, named.getMetrics());
+    Assert.assertSame("metrics are the registered ones", Metrics.forName("requirement.named"), metrics);
+    Metrics.reset();
+    Main.Person person = new Main.Person("Ann", Maybe.nothing(), "Lee", 9, Main.Gender.Female);
+    Main.check(Arrays.asList(named), person);
+    Assert.assertNotSame("metrics resolved again after reset", metrics, named.getMetrics());
+    Assert.assertEquals("recorded into the metrics registered after reset",
+        1, Metrics.snapshot().get("requirement.named").getRights());
+  }
+
+}
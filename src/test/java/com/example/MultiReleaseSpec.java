@@ -0,0 +1,36 @@
+package com.example;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.lang.reflect.Method;
+
+/**
+ * <p>Class for testing that the specs run against the intended variant of
+ * Maybe and Either. The java17 profile runs every spec a second time with
+ * functional-java.variant set to 17 and the META-INF/versions/17 classes
+ * first on the class path.</p>
+ */
+@RunWith(JUnit4.class)
+public class MultiReleaseSpec {
+
+  private static boolean isSealed(Class<?> type) throws Exception {
+    Method isSealed;
+    try {
+      isSealed = Class.class.getMethod("isSealed");
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+    return (Boolean) isSealed.invoke(type);
+  }
+
+  @Test
+  public void variantUnderTestIsLoaded() throws Exception {
+    boolean java17 = "17".equals(System.getProperty("functional-java.variant"));
+    Assert.assertEquals("Maybe is sealed only in the Java 17 variant", java17, isSealed(Maybe.class));
+    Assert.assertEquals("Either is sealed only in the Java 17 variant", java17, isSealed(Either.class));
+  }
+
+}
@@ -0,0 +1,92 @@
+package com.example;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * <p>Class for testing ParallelTraverse functionality</p>
+ */
+@RunWith(JUnit4.class)
+public class ParallelTraverseSpec {
+
+  private static final int SIZE = 200000;
+
+  private static List<Integer> ints(int n) {
+    List<Integer> ints = new ArrayList<Integer>(n);
+    for (int i = 0; i < n; i++)
+      ints.add(i);
+    return ints;
+  }
+
+  private static Function<Integer, Either<String, Integer>> failingAt(int... indices) {
+    return i -> {
+      for (int index : indices) {
+        if (i == index)
+          return Either.left("failed at " + i).value();
+      }
+      return Either.right(i * 2).value();
+    };
+  }
+
+  @Test
+  public void successesKeepListOrder() {
+    Either<String, List<Integer>> doubled = ParallelTraverse.either(ints(SIZE), failingAt());
+    List<Integer> expected = new ArrayList<Integer>(SIZE);
+    for (int i = 0; i < SIZE; i++)
+      expected.add(i * 2);
+    Assert.assertEquals("every value in order", Either.right(expected).value(), doubled);
+    Assert.assertEquals("empty list gives an empty Right", Either.right(Collections.emptyList()).value(),
+        ParallelTraverse.either(Collections.<Integer>emptyList(), failingAt()));
+    Assert.assertEquals("non random access lists are traversed too", Either.right(expected.subList(0, 1000)).value(),
+        ParallelTraverse.either(new LinkedList<Integer>(ints(1000)), failingAt()));
+  }
+
+  @Test
+  public void earliestFailureIsReportedDeterministically() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (int run = 0; run < 20; run++) {
+        Either<String, List<Integer>> result =
+            ParallelTraverse.either(ints(SIZE), failingAt(SIZE - 1, SIZE / 2, 12345, 12346), pool);
+        Assert.assertEquals("lowest failing index wins in run " + run, Either.left("failed at 12345").value(), result);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void remainingChunksAreSkippedAfterAFailure() {
+    AtomicInteger evaluated = new AtomicInteger();
+    Function<Integer, Either<String, Integer>> failFirst = failingAt(0);
+    Either<String, List<Integer>> result = ParallelTraverse.either(ints(SIZE), i -> {
+      evaluated.incrementAndGet();
+      return failFirst.apply(i);
+    });
+    Assert.assertEquals("first element failed", Either.left("failed at 0").value(), result);
+    Assert.assertTrue("most elements were skipped, evaluated " + evaluated.get(), evaluated.get() < SIZE / 2);
+  }
+
+  @Test
+  public void maybeTraverseIsNothingIfAnyIsNothing() {
+    Function<Integer, Maybe<Integer>> evenOnly = i -> i % 2 == 0 ? Maybe.apply(i / 2) : Maybe.<Integer>nothing();
+    List<Integer> evens = new ArrayList<Integer>(SIZE);
+    for (int i = 0; i < SIZE; i++)
+      evens.add(i * 2);
+    Assert.assertEquals("all Just gives Just of every value", Maybe.apply(ints(SIZE)),
+        ParallelTraverse.maybe(evens, evenOnly));
+    Assert.assertEquals("any Nothing gives Nothing", Maybe.<List<Integer>>nothing(),
+        ParallelTraverse.maybe(ints(SIZE), evenOnly));
+  }
+
+}
@@ -0,0 +1,105 @@
+package com.example;
+
+import com.example.Main.Gender;
+import com.example.Main.Person;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>Class for testing PersonStore functionality</p>
+ */
+@RunWith(JUnit4.class)
+public class PersonStoreSpec {
+
+  private static final Person oldLady = new Person("Mary", Maybe.nothing(), "Murphy", 66, Gender.Female);
+  private static final Person teenager = new Person("Tom", Maybe.apply("Dick"), "Harry", 18, Gender.Male);
+
+  private static List<Person> people(int n) {
+    List<Person> people = new ArrayList<Person>(n);
+    String[] names = {"Mary", "Tom", "Ann", "Bob", "Sue"};
+    for (int i = 0; i < n; i++) {
+      Maybe<String> middle = i % 3 == 0 ? Maybe.<String>nothing() : Maybe.apply(names[i % names.length]);
+      people.add(new Person(names[(i * 7) % names.length], middle, "Murphy" + (i % 10),
+          i % 100, i % 2 == 0 ? Gender.Female : Gender.Male));
+    }
+    return people;
+  }
+
+  @Test
+  public void recordsRoundTrip() {
+    List<Person> people = people(1000);
+    PersonStore store = PersonStore.of(people);
+    Assert.assertEquals("every record stored", people.size(), store.size());
+    for (int i = 0; i < people.size(); i++)
+      Assert.assertEquals("record " + i, people.get(i), store.get(i));
+    Assert.assertEquals("each distinct name stored once", 15, store.dictionarySize());
+  }
+
+  @Test
+  public void cursorReadsFieldsInPlace() {
+    PersonStore store = PersonStore.of(Arrays.asList(oldLady, teenager));
+    PersonStore.Cursor cursor = store.cursor();
+    Assert.assertEquals("first name", "Tom", cursor.moveTo(1).getFirstName());
+    Assert.assertEquals("middle name", Maybe.apply("Dick"), cursor.getMiddleName());
+    Assert.assertSame("middle name is a shared Just", cursor.getMiddleName(), cursor.getMiddleName());
+    Assert.assertEquals("last name", "Harry", cursor.getLastName());
+    Assert.assertEquals("age", 18, cursor.getAge());
+    Assert.assertEquals("gender", Gender.Male, cursor.getGender());
+    Assert.assertEquals("absent middle name is Nothing", Maybe.nothing(), cursor.moveTo(0).getMiddleName());
+    Assert.assertEquals("cursor index", 0, cursor.index());
+  }
+
+  @Test
+  public void storeGrowsAndRecordsCanBeReplaced() {
+    PersonStore store = new PersonStore(1);
+    for (int i = 0; i < 100; i++)
+      store.add(i % 2 == 0 ? oldLady : teenager);
+    Assert.assertTrue("buffer grew", store.offHeapBytes() >= 100 * PersonStore.RECORD_BYTES);
+    Assert.assertEquals("records kept across growth", teenager, store.get(99));
+    store.set(99, oldLady);
+    Assert.assertEquals("record replaced in place", oldLady, store.get(99));
+    Assert.assertEquals("neighbour untouched", oldLady, store.get(98));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void cursorRejectsIndexPastEnd() {
+    PersonStore.of(Arrays.asList(oldLady)).cursor().moveTo(1);
+  }
+
+  @Test
+  public void newCursorIsNotOnAnyRecord() {
+    PersonStore.Cursor cursor = PersonStore.of(Arrays.asList(oldLady)).cursor();
+    Assert.assertEquals("cursor index before moveTo", -1, cursor.index());
+    try {
+      cursor.getAge();
+      Assert.fail("read before moveTo");
+    } catch (IndexOutOfBoundsException expected) {}
+    try {
+      PersonStore.of(new ArrayList<Person>()).cursor().getFirstName();
+      Assert.fail("read from an empty store");
+    } catch (IndexOutOfBoundsException expected) {}
+  }
+
+  @Test
+  public void compiledFailuresMatchHeapRecords() {
+    List<Person> people = people(1000);
+    PersonStore store = PersonStore.of(people);
+    long[] masks = Main.seniorFemale.failures(store);
+    for (int i = 0; i < people.size(); i++)
+      Assert.assertEquals("failures of record " + i, Main.seniorFemale.failures(people.get(i)), masks[i]);
+    CompiledRequirements named = CompiledRequirements.builder()
+        .require("middle", Rule.middleName().present(), "middleName", "is absent")
+        .require("murphy", Rule.lastName().equalTo("Murphy3"), "lastName", "is not Murphy3")
+        .build();
+    PersonStore.Cursor cursor = store.cursor();
+    for (int i = 0; i < people.size(); i++)
+      Assert.assertEquals("name failures of record " + i, named.failures(people.get(i)), named.failures(cursor.moveTo(i)));
+  }
+
+}
@@ -0,0 +1,151 @@
+package com.example;
+
+import com.example.Main.Gender;
+import com.example.Main.Person;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * <p>Class for testing PersonCsv and ShardedValidator functionality</p>
+ */
+@RunWith(JUnit4.class)
+public class ShardedValidatorSpec {
+
+  /**
+   * <p>Requirements that cannot be supplied, so every worker fails.</p>
+   */
+  public static final class Broken implements Supplier<CompiledRequirements> {
+    @Override
+    public CompiledRequirements get() {
+      throw new IllegalStateException("broken requirements");
+    }
+  }
+
+  private static List<Person> people(int n) {
+    List<Person> people = new ArrayList<Person>();
+    for (int i = 0; i < n; i++) {
+      Maybe<String> middle = i % 4 == 0 ? Maybe.apply("M" + i) : Maybe.<String>nothing();
+      people.add(new Person("F" + i, middle, "L" + i, 40 + i % 50, i % 3 == 0 ? Gender.Male : Gender.Female));
+    }
+    return people;
+  }
+
+  private static Path write(List<Person> people) throws IOException {
+    List<String> lines = new ArrayList<String>();
+    for (Person person : people)
+      lines.add(PersonCsv.format(person));
+    Path file = Files.createTempFile("people", ".csv");
+    Files.write(file, lines, StandardCharsets.UTF_8);
+    return file;
+  }
+
+  @Test
+  public void csvRoundTrips() {
+    for (Person person : people(10))
+      Assert.assertEquals("parse(format(p)) == p", person, PersonCsv.parse(PersonCsv.format(person)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void csvRejectsBadAge() {
+    PersonCsv.parse("Mary,,Murphy,old,Female");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void csvRejectsNegativeAge() {
+    PersonCsv.parse("Mary,,Murphy,-5,Female");
+  }
+
+  @Test
+  public void workersMergeResultsInInputOrder() throws Exception {
+    List<Person> people = people(5000);
+    Path input = write(people);
+    try {
+      long[] failures = new ShardedValidator(3, ShardedValidator.SeniorFemale.class, "-Xmx32m").validate(input);
+      Assert.assertEquals("one result per record", people.size(), failures.length);
+      for (int i = 0; i < people.size(); i++)
+        Assert.assertEquals("result " + i + " matches an in-process check",
+            Main.seniorFemale.failures(people.get(i)), failures[i]);
+    } finally {
+      Files.delete(input);
+    }
+  }
+
+  @Test
+  public void shardsAreCutByLineCount() throws Exception {
+    List<Person> people = people(30);
+    List<String> lines = new ArrayList<String>();
+    for (int i = 0; i < people.size(); i++) {
+      lines.add(PersonCsv.format(people.get(i)));
+      if (i % 3 == 0)
+        lines.add("");
+    }
+    Path input = Files.createTempFile("people", ".csv");
+    try {
+      Files.write(input, lines, StandardCharsets.UTF_8);
+      long[] failures = new ShardedValidator(2, 7, ShardedValidator.SeniorFemale.class).validate(input);
+      Assert.assertEquals("one result per record, blank lines skipped", people.size(), failures.length);
+      for (int i = 0; i < people.size(); i++)
+        Assert.assertEquals("result " + i + " matches an in-process check",
+            Main.seniorFemale.failures(people.get(i)), failures[i]);
+    } finally {
+      Files.delete(input);
+    }
+  }
+
+  @Test
+  public void moreWorkersThanRecords() throws Exception {
+    List<Person> people = people(2);
+    Path input = write(people);
+    try {
+      long[] failures = new ShardedValidator(4, ShardedValidator.SeniorFemale.class).validate(input);
+      Assert.assertEquals("one result per record", 2, failures.length);
+      Assert.assertEquals("first record", Main.seniorFemale.failures(people.get(0)), failures[0]);
+      Assert.assertEquals("second record", Main.seniorFemale.failures(people.get(1)), failures[1]);
+    } finally {
+      Files.delete(input);
+    }
+  }
+
+  @Test
+  public void invalidRecordsAreMarkedNotFatal() throws Exception {
+    List<Person> people = people(3);
+    Path input = Files.createTempFile("people", ".csv");
+    try {
+      Files.write(input, Arrays.asList(PersonCsv.format(people.get(0)), "not,a,person",
+          PersonCsv.format(people.get(2))), StandardCharsets.UTF_8);
+      long[] failures = new ShardedValidator(1, ShardedValidator.SeniorFemale.class).validate(input);
+      Assert.assertEquals("one result per line", 3, failures.length);
+      Assert.assertEquals("first record", Main.seniorFemale.failures(people.get(0)), failures[0]);
+      Assert.assertEquals("invalid line is marked", CompiledRequirements.INVALID_RECORD, failures[1]);
+      Assert.assertEquals("record after the invalid line", Main.seniorFemale.failures(people.get(2)), failures[2]);
+    } finally {
+      Files.delete(input);
+    }
+  }
+
+  @Test
+  public void failedWorkerFailsTheRun() throws Exception {
+    Path input = write(people(1));
+    try {
+      new ShardedValidator(1, Broken.class).validate(input);
+      Assert.fail("a worker failed but the run did not");
+    } catch (IOException expected) {
+      Assert.assertTrue("the worker's stderr is in the message: " + expected.getMessage(),
+          expected.getMessage().contains("broken requirements"));
+    } finally {
+      Files.delete(input);
+    }
+  }
+
+}
@@ -0,0 +1,125 @@
+package com.example;
+
+import com.example.Main.Gender;
+import com.example.Main.Person;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Class for testing Try functionality</p>
+ */
+@RunWith(JUnit4.class)
+public class TrySpec {
+
+  private static final Try.CheckedFunction<String, Integer> parse = Integer::valueOf;
+
+  @Test
+  public void ofCapturesResultOrException() {
+    Assert.assertEquals("Try.of(() -> 1) == Success(1)", Try.success(1), Try.of(() -> 1));
+    IOException io = new IOException("closed");
+    Try<Integer> failed = Try.of(() -> { throw io; });
+    Assert.assertTrue("a checked exception becomes a Failure", failed.isFailure());
+    Assert.assertSame("the Failure wraps the exception thrown", io, failed.getException());
+  }
+
+  @Test
+  public void mapAndFlatMapCaptureExceptions() {
+    Assert.assertEquals("Success(\"42\").map(parse) == Success(42)", Try.success(42), Try.success("42").map(parse));
+    Try<Integer> notANumber = Try.success("forty-two").map(parse);
+    Assert.assertTrue("map throwing gives a Failure", notANumber.getException() instanceof NumberFormatException);
+    Try<Integer> halved = Try.success(42).flatMap(i -> Try.of(() -> i / 2));
+    Assert.assertEquals("Success(42).flatMap(halve) == Success(21)", Try.success(21), halved);
+    Try<Integer> divided = Try.success(42).flatMap(i -> Try.success(i / 0));
+    Assert.assertTrue("flatMap throwing gives a Failure", divided.getException() instanceof ArithmeticException);
+    Assert.assertSame("Failure.map(f) is unchanged", notANumber, notANumber.map(i -> i + 1));
+    Assert.assertSame("Failure.flatMap(f) is unchanged", notANumber, notANumber.flatMap(i -> Try.success(i + 1)));
+  }
+
+  @Test
+  public void recoverReplacesFailures() {
+    Try<Integer> failed = Try.failure("broken");
+    Assert.assertEquals("Failure.recover(f) == Success(f(e))", Try.success(6),
+        failed.recover(e -> e.getMessage().length()));
+    Assert.assertEquals("Failure.recoverWith(f) == f(e)", Try.success(0), failed.recoverWith(e -> Try.success(0)));
+    Try<Integer> success = Try.success(1);
+    Assert.assertSame("Success.recover(f) is unchanged", success, success.recover(e -> 0));
+    Assert.assertEquals("Failure.getOrElse(2) == 2", 2, failed.getOrElse(() -> 2).intValue());
+  }
+
+  @Test
+  public void throwingRecoveryBecomesAFailure() {
+    Try<Integer> failed = Try.failure("broken");
+    IllegalStateException thrown = new IllegalStateException("recovery failed");
+    Try<Integer> recovered = failed.recover(e -> { throw thrown; });
+    Assert.assertSame("Failure.recover(throwing f) fails with what f threw", thrown, recovered.getException());
+    Try<Integer> recoveredWith = failed.recoverWith(e -> { throw thrown; });
+    Assert.assertSame("Failure.recoverWith(throwing f) fails with what f threw", thrown, recoveredWith.getException());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void failureGetThrowsNoSuchElement() {
+    Try.failure("broken").get();
+  }
+
+  @Test
+  public void convertsToAndFromEitherAndMaybe() {
+    Try<Integer> success = Try.success(1);
+    Try<Integer> failure = Try.failure("broken");
+    Assert.assertEquals("Success(1).toEither() == Right(1)", Either.right(1).value(), success.toEither());
+    Assert.assertEquals("Failure(e).toEither() == Left(e)",
+        Either.left(failure.getException()).value(), failure.toEither());
+    Assert.assertEquals("Success(1).toMaybe() == Just(1)", Maybe.apply(1), success.toMaybe());
+    Assert.assertEquals("Failure(e).toMaybe() == Nothing", Maybe.nothing(), failure.toMaybe());
+    Assert.assertEquals("fromEither(toEither()) round trips a Success", success, Try.fromEither(success.toEither()));
+    Assert.assertEquals("fromEither(toEither()) round trips a Failure", failure, Try.fromEither(failure.toEither()));
+    Assert.assertEquals("fromMaybe(Just(1)) == Success(1)", success,
+        Try.fromMaybe(Maybe.apply(1), () -> new StacklessException("missing")));
+    Assert.assertEquals("fromMaybe(Nothing) is a Failure with the supplied message", "missing",
+        Try.fromMaybe(Maybe.nothing(), () -> new StacklessException("missing")).getException().getMessage());
+  }
+
+  @Test
+  public void stacklessFailuresHaveNoStackTrace() {
+    Throwable exception = Try.failure("broken").getException();
+    Assert.assertTrue("failure(message) wraps a StacklessException", exception instanceof StacklessException);
+    Assert.assertEquals("no stack trace is captured", 0, exception.getStackTrace().length);
+    Throwable thrown = Try.of(() -> { throw new StacklessException("thrown"); }).getException();
+    Assert.assertEquals("a thrown StacklessException has no stack trace either", 0, thrown.getStackTrace().length);
+  }
+
+  @Test
+  public void tryParseReturnsFailuresForInvalidRecords() {
+    Assert.assertEquals("a valid record parses", Try.success(new Person("Tom", Maybe.apply("Dick"), "Harry", 18, Gender.Male)),
+        PersonCsv.tryParse("Tom,Dick,Harry,18,Male"));
+    String[] invalid = {"Tom,Dick,Harry,18", "Tom,Dick,Harry,eighteen,Male", "Tom,Dick,Harry,,Male",
+        "Tom,Dick,Harry,18,male"};
+    for (String line : invalid) {
+      Try<Person> person = PersonCsv.tryParse(line);
+      Assert.assertTrue(line + " is a Failure", person.isFailure());
+      Assert.assertEquals(line + " fails without a stack trace", 0, person.getException().getStackTrace().length);
+    }
+  }
+
+  @Test
+  public void parseAndTryParseAgreeOnAges() {
+    String[] ages = {"-5", "+5", "1234567890", " 5", "5"};
+    for (String age : ages) {
+      String line = "Tom,Dick,Harry," + age + ",Male";
+      boolean parsed;
+      try {
+        PersonCsv.parse(line);
+        parsed = true;
+      } catch (IllegalArgumentException e) {
+        parsed = false;
+      }
+      Assert.assertEquals("parse and tryParse agree on age " + age, PersonCsv.tryParse(line).isSuccess(), parsed);
+    }
+    Assert.assertTrue("a plain age parses", PersonCsv.tryParse("Tom,Dick,Harry,5,Male").isSuccess());
+  }
+
+}
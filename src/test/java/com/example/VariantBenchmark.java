@@ -0,0 +1,103 @@
+package com.example;
+
+import java.lang.reflect.Method;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>Times the hot methods of Maybe and Either over a mix of both cases, so
+ * the call sites see both classes. Run it once against each variant of the
+ * multi-release jar on the same JDK, which loads the Java 17 classes unless
+ * multi-release lookup is switched off</p>
+ * <pre>
+ *   mvn package
+ *   java -cp target/functional-java-0.2.1.jar:target/test-classes com.example.VariantBenchmark
+ *   java -Djdk.util.jar.enableMultiRelease=false \
+ *     -cp target/functional-java-0.2.1.jar:target/test-classes com.example.VariantBenchmark
+ * </pre>
+ */
+public class VariantBenchmark {
+
+  private static final int VALUES = 1 << 16;
+  private static final int WARMUP = 20;
+  private static final int ROUNDS = 20;
+
+  private static long sink;
+
+  private static String variant() {
+    try {
+      Method isSealed = Class.class.getMethod("isSealed");
+      return (Boolean) isSealed.invoke(Maybe.class) ? "sealed (Java 17)" : "base (Java 8)";
+    } catch (ReflectiveOperationException e) {
+      return "base (Java 8)";
+    }
+  }
+
+  private static <T> void run(String name, T input, ToLongFunction<T> body) {
+    for (int i = 0; i < WARMUP; i++)
+      sink += body.applyAsLong(input);
+    long start = System.nanoTime();
+    for (int i = 0; i < ROUNDS; i++)
+      sink += body.applyAsLong(input);
+    double nanosPerValue = (double) (System.nanoTime() - start) / ROUNDS / VALUES;
+    System.out.printf("%-24s %8.2f ns/value%n", name, nanosPerValue);
+  }
+
+  @SuppressWarnings("unchecked")
+  public static void main(String[] args) {
+    Random random = new Random(42);
+    Maybe<Integer>[] maybes = new Maybe[VALUES];
+    Either<String, Integer>[] eithers = new Either[VALUES];
+    for (int i = 0; i < VALUES; i++) {
+      boolean present = random.nextBoolean();
+      maybes[i] = present ? Maybe.apply(i) : Maybe.<Integer>nothing();
+      eithers[i] = present ? Either.right(i).<String>value() : Either.left("missing").<Integer>value();
+    }
+    Function<Integer, Integer> increment = x -> x + 1;
+    Function<Integer, Maybe<Integer>> half = x -> (x & 1) == 0 ? Maybe.apply(x >> 1) : Maybe.<Integer>nothing();
+    Function<Integer, Either<String, Integer>> odd =
+        x -> (x & 1) == 1 ? Either.right(x).<String>value() : Either.left("even").<Integer>value();
+    Function<String, Integer> length = String::length;
+
+    System.out.println("variant: " + variant() + " on Java " + System.getProperty("java.version"));
+    run("Maybe.getOrElse", maybes, ms -> {
+      long sum = 0;
+      for (Maybe<Integer> m : ms)
+        sum += m.getOrElse(() -> 0);
+      return sum;
+    });
+    run("Maybe.map", maybes, ms -> {
+      long sum = 0;
+      for (Maybe<Integer> m : ms)
+        sum += m.map(increment).getOrElse(() -> 0);
+      return sum;
+    });
+    run("Maybe.flatMap", maybes, ms -> {
+      long sum = 0;
+      for (Maybe<Integer> m : ms)
+        sum += m.flatMap(half).map(increment).getOrElse(() -> 0);
+      return sum;
+    });
+    run("Either.map", eithers, es -> {
+      long sum = 0;
+      for (Either<String, Integer> e : es)
+        sum += e.map(increment).getRightOr(() -> 0);
+      return sum;
+    });
+    run("Either.flatMap", eithers, es -> {
+      long sum = 0;
+      for (Either<String, Integer> e : es)
+        sum += e.flatMap(odd).equals(eithers[0]) ? 1 : 0;
+      return sum;
+    });
+    run("Either.fold", eithers, es -> {
+      long sum = 0;
+      for (Either<String, Integer> e : es)
+        sum += e.fold(length, increment).getRightOr(() -> 0);
+      return sum;
+    });
+    System.out.println("(" + sink + ")");
+  }
+
+}